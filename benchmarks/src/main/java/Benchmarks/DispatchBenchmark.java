@@ -0,0 +1,70 @@
+package Benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import Elevator.Elevator;
+import Elevator.ElevatorImp;
+import ElevatorSystem.ElevatorSystemImp;
+
+/**
+ * cost of one {@link ElevatorSystemImp#GAE(int)} decision for fleets of different sizes,
+ * elevators are spread over random floors before measuring.
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatchBenchmark {
+
+	private static final int MASK = 1023;
+
+	@Param({ "4", "100", "1000", "10000" })
+	public int cars;
+
+	private ElevatorSystemImp system;
+	private final int[] floors = new int[MASK + 1];
+	private int next;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+		system = new ElevatorSystemImp(0, 20);
+		for (int id = 0; id < cars; id++) {
+			ElevatorImp elevator = new ElevatorImp(5, system, id, false);
+			elevator.moveTo(random.nextInt(21));
+			system.addElevator(elevator);
+		}
+		for (int i = 0; i < floors.length; i++) {
+			floors[i] = random.nextInt(21);
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		system.shutdown();
+	}
+
+	@Benchmark
+	public Elevator gae() {
+		return system.GAE(floors[next++ & MASK]);
+	}
+}
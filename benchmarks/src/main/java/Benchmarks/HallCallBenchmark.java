@@ -0,0 +1,74 @@
+package Benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import Elevator.ElevatorImp;
+import ElevatorSystem.ElevatorSystemImp;
+
+/**
+ * hall calls served per second by a started {@link ElevatorSystemImp} whose elevators do not sleep,
+ * each invocation queues a burst of calls and waits until every one of them has arrived.
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HallCallBenchmark {
+
+	private static final int BURST = 256;
+
+	@Param({ "4", "64" })
+	public int cars;
+
+	private ElevatorSystemImp system;
+	private final int[] floors = new int[BURST];
+	private final CompletableFuture<?>[] calls = new CompletableFuture<?>[BURST];
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+		system = new ElevatorSystemImp(0, 20);
+		for (int id = 0; id < cars; id++) {
+			system.addElevator(new ElevatorImp(5, system, id, false));
+		}
+		for (int i = 0; i < BURST; i++) {
+			floors[i] = random.nextInt(21);
+		}
+		system.start();
+	}
+
+	@TearDown
+	public void tearDown() {
+		system.shutdown();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BURST)
+	public void hallCalls() {
+		for (int i = 0; i < BURST; i++) {
+			calls[i] = (i & 1) == 0 ? system.callUpAsync(floors[i]) : system.callDownAsync(floors[i]);
+		}
+		CompletableFuture.allOf(calls).join();
+	}
+}
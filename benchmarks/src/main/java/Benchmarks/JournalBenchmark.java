@@ -0,0 +1,73 @@
+package Benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import Elevator.MovingState;
+import Journal.EventJournal;
+import Simulator.RealTimeClock;
+
+/**
+ * <p>
+ * cost of one {@link EventJournal} record as written by an elevator step, including the clock
+ * read and rolling over 32 MB segments. {@link #step()} runs on one thread, {@link #contended()}
+ * on four writing at the same time. segments are deleted after each trial.
+ * </p>
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JournalBenchmark {
+
+	private Path directory;
+	private EventJournal journal;
+	private int floor;
+
+	@Setup
+	public void setUp() throws IOException {
+		directory = Files.createTempDirectory("journal-bench");
+		journal = new EventJournal(directory, new RealTimeClock());
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		journal.close();
+		try (Stream<Path> files = Files.list(directory)) {
+			files.forEach(file -> file.toFile().delete());
+		}
+		Files.delete(directory);
+	}
+
+	@Benchmark
+	public void step() {
+		journal.onStep(1, floor++ & 63, 63, floor, MovingState.Up);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public void contended() {
+		journal.onStep(1, 7, 63, 100, MovingState.Up);
+	}
+}
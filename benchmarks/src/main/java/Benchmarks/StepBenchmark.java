@@ -0,0 +1,61 @@
+package Benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import Elevator.ElevatorImp;
+import ElevatorSystem.ElevatorSystemImp;
+
+/**
+ * <p>
+ * one 20 floor trip of {@link ElevatorImp#moveTo(int)} without sleeping, 21 steps each notifying
+ * either nobody, an {@link Elevator.ElevatorListener} or a legacy {@link java.util.Observer}.
+ * run with -prof gc to see the allocation per step.
+ * </p>
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StepBenchmark {
+
+	@Param({ "none", "listener", "observer" })
+	public String notify;
+
+	private ElevatorImp elevator;
+	private int target;
+
+	@Setup
+	public void setUp(Blackhole hole) {
+		elevator = new ElevatorImp(5, new ElevatorSystemImp(0, 20), 0, false);
+		if ("listener".equals(notify)) {
+			elevator.addListener((id, floor, target, power, state) -> hole.consume(floor));
+		} else if ("observer".equals(notify)) {
+			elevator.addObserver((o, arg) -> hole.consume(arg));
+		}
+	}
+
+	@Benchmark
+	public double moveTo() {
+		target = target == 0 ? 20 : 0;
+		elevator.moveTo(target);
+		return elevator.getPowerConsumed();
+	}
+}
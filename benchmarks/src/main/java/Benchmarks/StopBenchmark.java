@@ -0,0 +1,111 @@
+package Benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import Elevator.ElevatorImp;
+import Elevator.FloorRoute;
+import Elevator.MovingState;
+import ElevatorSystem.ElevatorSystemImp;
+import ElevatorSystem.StopQueue;
+
+/**
+ * <p>
+ * stop ingestion with destination panel sized batches. {@link Elevator.SortFloor} is kept as the baseline for
+ * {@link FloorRoute}, both return a sorted copy of the batch. the system is not started, after warm up
+ * {@link ElevatorSystemImp#requestStops(Elevator.Elevator, int...)} measures sorting and de-duplicating
+ * floors that are already pending, {@link #queueCycle(Blackhole)} measures adding and serving a batch.
+ * </p>
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StopBenchmark {
+
+	private static final int MAX_FLOOR = 199;
+	private static final int MASK = 255;
+
+	@Param({ "1", "6", "32", "128" })
+	public int batch;
+
+	private ElevatorSystemImp system;
+	private ElevatorImp elevator;
+	private StopQueue queue;
+	private FloorRoute route;
+	private final int[][] batches = new int[MASK + 1][];
+	private int next;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+		system = new ElevatorSystemImp(0, MAX_FLOOR);
+		elevator = new ElevatorImp(5, system, 0, false);
+		system.addElevator(elevator);
+		system.setCallDirection(MovingState.Up);
+		queue = new StopQueue(0, MAX_FLOOR);
+		route = new FloorRoute(0, MAX_FLOOR);
+		for (int i = 0; i < batches.length; i++) {
+			batches[i] = new int[batch];
+			for (int j = 0; j < batch; j++) {
+				batches[i][j] = random.nextInt(MAX_FLOOR + 1);
+			}
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		system.shutdown();
+	}
+
+	@Benchmark
+	public void requestStops() {
+		system.requestStops(elevator, batches[next++ & MASK]);
+	}
+
+	@Benchmark
+	public void queueCycle(Blackhole hole) {
+		for (int floor : batches[next++ & MASK]) {
+			queue.add(floor);
+		}
+		while (!queue.isEmpty()) {
+			hole.consume(queue.poll());
+		}
+	}
+
+	@SuppressWarnings("deprecation")
+	@Benchmark
+	public int[] ascSort() {
+		return Elevator.SortFloor.ascSort(batches[next++ & MASK]);
+	}
+
+	@SuppressWarnings("deprecation")
+	@Benchmark
+	public int[] descSort() {
+		return Elevator.SortFloor.descSort(batches[next++ & MASK]);
+	}
+
+	@Benchmark
+	public int[] routeSort() {
+		return route.sort(batches[next++ & MASK], true);
+	}
+}
@@ -0,0 +1,54 @@
+package Benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import Simulator.Passenger;
+import Simulator.TrafficGenerator;
+import Simulator.TrafficProfile;
+
+/**
+ * <p>
+ * passengers per second of an endless {@link TrafficGenerator} stream, it should stay far above
+ * what the dispatcher benchmarks consume. run with -prof gc to check nothing is allocated per passenger.
+ * </p>
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrafficBenchmark {
+
+	@Param({ "UP_PEAK", "INTERFLOOR" })
+	public TrafficProfile profile;
+
+	private TrafficGenerator generator;
+	private final Passenger passenger = new Passenger();
+
+	@Setup
+	public void setUp() {
+		generator = new TrafficGenerator(profile, 600, 0, 100, Long.MAX_VALUE, 42);
+	}
+
+	@Benchmark
+	public Passenger next() {
+		generator.next(passenger);
+		return passenger;
+	}
+}
@@ -0,0 +1,55 @@
+package Dispatch;
+
+import Elevator.EnergyCostTable;
+
+/**
+ * the {@link DispatchStrategy} implementations by name, used where a strategy is chosen from
+ * configuration such as a fleet sizing sweep. every call of {@link #newStrategy(int, int)} gives
+ * a new strategy, one per building.
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public enum DispatchPolicy {
+	/**
+	 * {@link DispatchPolicy#NEAREST_CAR} uses {@link NearestCarStrategy}.</br>
+	 */
+	NEAREST_CAR,
+	/**
+	 * {@link DispatchPolicy#LEAST_LOADED} uses {@link LeastLoadedStrategy}.</br>
+	 */
+	LEAST_LOADED,
+	/**
+	 * {@link DispatchPolicy#ESTIMATED_TIME} uses {@link EstimatedTimeStrategy}.</br>
+	 */
+	ESTIMATED_TIME,
+	/**
+	 * {@link DispatchPolicy#ENERGY} uses {@link EnergyStrategy} with exact costs and a wait bound of
+	 * {@link #ENERGY_MAX_WAIT}.</br>
+	 */
+	ENERGY;
+
+	/**
+	 * wait bound of {@link #ENERGY} in clock milliseconds
+	 */
+	public static final long ENERGY_MAX_WAIT = 60000;
+
+	/**
+	 * create the strategy of this policy for a building
+	 * @param minFloor - lowest floor of the building
+	 * @param maxFloor - highest floor of the building
+	 * @return new strategy
+	 */
+	public DispatchStrategy newStrategy(int minFloor, int maxFloor) {
+		switch (this) {
+			case LEAST_LOADED:
+				return new LeastLoadedStrategy();
+			case ESTIMATED_TIME:
+				return new EstimatedTimeStrategy();
+			case ENERGY:
+				return new EnergyStrategy(new EnergyCostTable(minFloor, maxFloor), ENERGY_MAX_WAIT);
+			default:
+				return new NearestCarStrategy();
+		}
+	}
+}
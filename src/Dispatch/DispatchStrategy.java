@@ -0,0 +1,38 @@
+package Dispatch;
+
+import java.util.List;
+
+import Elevator.Elevator;
+import ElevatorSystem.ElevatorSystemImp;
+import ElevatorSystem.HallCall;
+
+/**
+ * <p>
+ * policy used by {@link ElevatorSystemImp} to assign waiting hall calls to elevators.
+ * every dispatch pass hands all waiting calls to the strategy at once.
+ * </p>
+ * <p>
+ * an {@link Elevator} serves one hall call at a time, so only elevators that are
+ * {@link FleetView#isFree(int)} and {@link FleetView#accepts(int, HallCall)} the call can be assigned,
+ * each of them at most once per batch.
+ * anything else is ignored and the call keeps waiting for the next pass.
+ * </p>
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public interface DispatchStrategy {
+
+	/**
+	 * value in the assignment of a call that should keep waiting
+	 */
+	int NONE = -1;
+
+	/**
+	 * assign a batch of hall calls
+	 * @param fleet - read only state of all elevators
+	 * @param calls - waiting hall calls, oldest first
+	 * @return elevator id for each call in the same order, or {@link #NONE}
+	 */
+	int[] assign( final FleetView fleet, final List<HallCall> calls);
+}
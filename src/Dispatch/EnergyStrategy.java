@@ -0,0 +1,131 @@
+package Dispatch;
+
+import java.util.Arrays;
+import java.util.List;
+
+import Elevator.ElevatorImp;
+import Elevator.EnergyCostTable;
+import Elevator.MovingState;
+import ElevatorSystem.HallCall;
+
+/**
+ * <p>
+ * assigns the whole batch to keep the power spent on reaching the calls low. instead of serving the
+ * oldest call first it repeatedly takes the cheapest pair of waiting call and elevator.
+ * </p>
+ * <p>
+ * with an {@link EnergyCostTable} the power is exact for the state each elevator is in, and
+ * elevators finishing their last leg are candidates too, only the power after their current leg
+ * counts. a pair whose wait, from the hall call until the elevator arrives, would pass the wait
+ * bound is only taken when no pair within the bound is left, the fastest of them first.
+ * </p>
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public class EnergyStrategy implements DispatchStrategy {
+
+	private final EnergyCostTable table;
+	private final long maxWait;
+
+	/**
+	 * free elevators only, no wait bound
+	 */
+	public EnergyStrategy() {
+		table = null;
+		maxWait = Long.MAX_VALUE;
+	}
+
+	/**
+	 * @param table - costs of the building, covering every floor the elevators serve
+	 * @param maxWait - clock milliseconds a call should wait at most
+	 * @throws IllegalArgumentException - if maxWait is negative
+	 */
+	public EnergyStrategy(EnergyCostTable table, long maxWait) {
+		if (table == null) {
+			throw new NullPointerException();
+		}
+		if (maxWait < 0) {
+			throw new IllegalArgumentException("The wait bound cannot be negative");
+		}
+		this.table = table;
+		this.maxWait = maxWait;
+	}
+
+	@Override
+	public int[] assign(FleetView fleet, List<HallCall> calls) {
+		int[] assignment = new int[calls.size()];
+		Arrays.fill(assignment, NONE);
+		boolean[] decided = new boolean[assignment.length];
+		boolean[] used = new boolean[fleet.size()];
+		long now = table == null ? 0 : fleet.time();
+		while (true) {
+			int bestCall = NONE;
+			int bestId = NONE;
+			boolean bestLate = true;
+			long best = Long.MAX_VALUE;
+			for (int i = 0; i < assignment.length; i++) {
+				if (decided[i]) {
+					continue;
+				}
+				HallCall call = calls.get(i);
+				int floor = call.getFloor();
+				long waited = table == null ? 0 : now - call.getTime();
+				for (int id = 0; id < fleet.size(); id++) {
+					if (used[id] || !fleet.accepts(id, call)) {
+						continue;
+					}
+					long power;
+					long eta;
+					if (fleet.isFree(id)) {
+						if (table == null) {
+							power = power(fleet.floor(id), floor);
+							eta = 0;
+						} else {
+							power = table.power(fleet.state(id), fleet.floor(id), floor);
+							eta = table.travelTime(fleet.state(id), fleet.floor(id), floor);
+						}
+					} else if (table != null && fleet.isFinishingLastLeg(id)) {
+						// the current leg is spent anyway, only the leg to the call is extra
+						power = table.power(MovingState.Idle, fleet.target(id), floor);
+						eta = table.travelTime(fleet.state(id), fleet.floor(id), fleet.target(id))
+								+ table.travelTime(MovingState.Idle, fleet.target(id), floor);
+					} else {
+						continue;
+					}
+					boolean late = eta > maxWait - Math.max(0, waited);
+					long cost = late ? eta : power;
+					if (bestLate && !late || late == bestLate && cost < best) {
+						best = cost;
+						bestLate = late;
+						bestCall = i;
+						bestId = id;
+					}
+				}
+			}
+			if (bestCall == NONE) {
+				return assignment;
+			}
+			// see FleetView#isFinishingLastLeg
+			decided[bestCall] = true;
+			used[bestId] = true;
+			if (fleet.isFree(bestId)) {
+				assignment[bestCall] = bestId;
+			}
+		}
+	}
+
+	/**
+	 * power of one move starting from idle, the first and last floor are slow
+	 * @param from - start floor
+	 * @param to - target floor
+	 * @return power used
+	 */
+	static int power(int from, int to) {
+		int distance = Math.abs(to - from);
+		if (distance < 2) {
+			return distance * ElevatorImp.POWER_START_STOP;
+		}
+		return 2 * ElevatorImp.POWER_START_STOP + (distance - 2) * ElevatorImp.POWER_CONTINOUS;
+	}
+}
@@ -0,0 +1,69 @@
+package Dispatch;
+
+import java.util.Arrays;
+import java.util.List;
+
+import Elevator.ElevatorImp;
+import ElevatorSystem.HallCall;
+
+/**
+ * <p>
+ * oldest call first, each call goes to the elevator with the earliest estimated time of arrival.
+ * elevators finishing their last leg are candidates as well, when one of them would arrive before
+ * any free elevator the call waits for it instead of sending a car from further away.
+ * </p>
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public class EstimatedTimeStrategy implements DispatchStrategy {
+
+	@Override
+	public int[] assign(FleetView fleet, List<HallCall> calls) {
+		int[] assignment = new int[calls.size()];
+		Arrays.fill(assignment, NONE);
+		boolean[] used = new boolean[fleet.size()];
+		for (int i = 0; i < assignment.length; i++) {
+			HallCall call = calls.get(i);
+			int floor = call.getFloor();
+			long best = Long.MAX_VALUE;
+			int bestId = NONE;
+			for (int id = 0; id < fleet.size(); id++) {
+				if (used[id] || !fleet.accepts(id, call)) {
+					continue;
+				}
+				long eta;
+				if (fleet.isFree(id)) {
+					eta = travelTime(fleet.floor(id), floor);
+				} else if (fleet.isFinishingLastLeg(id)) {
+					eta = travelTime(fleet.floor(id), fleet.target(id)) + travelTime(fleet.target(id), floor);
+				} else {
+					continue;
+				}
+				if (eta < best) {
+					best = eta;
+					bestId = id;
+				}
+			}
+			if (bestId == NONE) {
+				continue;
+			}
+			// see FleetView#isFinishingLastLeg
+			used[bestId] = true;
+			if (fleet.isFree(bestId)) {
+				assignment[i] = bestId;
+			}
+		}
+		return assignment;
+	}
+
+	/**
+	 * time of one move starting from {@link Elevator.MovingState#Idle}, one step to start and one per floor
+	 * @param from - start floor
+	 * @param to - target floor
+	 * @return estimated time in milliseconds
+	 */
+	static long travelTime(int from, int to) {
+		return from == to ? 0 : (Math.abs(to - from) + 1) * ElevatorImp.SLEEP_CONTINOUS;
+	}
+}
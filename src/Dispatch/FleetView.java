@@ -0,0 +1,124 @@
+package Dispatch;
+
+import Elevator.Elevator;
+import Elevator.MovingState;
+import ElevatorSystem.ElevatorSystemImp;
+import ElevatorSystem.HallCall;
+
+/**
+ * <p>
+ * read only state of the elevators in an {@link ElevatorSystemImp}, handed to a {@link DispatchStrategy}.
+ * elevators are addressed by their {@link Elevator#id()}, ids in [0, {@link #size()}) that do not
+ * belong to an elevator return false from {@link #exists(int)}.
+ * </p>
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public interface FleetView {
+
+	/**
+	 * @return one more than the highest elevator id
+	 */
+	int size();
+
+	/**
+	 * @param id - elevator id
+	 * @return true if there is an elevator with this id
+	 */
+	boolean exists( final int id);
+
+	/**
+	 * check if an elevator can be sent to a hall call right now
+	 * @param id - elevator id
+	 * @return true if elevator is idle, not moving and has no pending stops
+	 */
+	boolean isFree( final int id);
+
+	/**
+	 * @param id - elevator id
+	 * @return true if elevator is travelling to {@link #target(int)}
+	 */
+	boolean isMoving( final int id);
+
+	/**
+	 * zoned elevators only serve part of the building, a strategy must not assign them calls outside of it
+	 * @param id - elevator id
+	 * @param floor - hall call floor
+	 * @return true if the elevator can stop at floor
+	 */
+	boolean serves( final int id, final int floor);
+
+	/**
+	 * @param id - elevator id
+	 * @return current floor of the elevator
+	 */
+	int floor( final int id);
+
+	/**
+	 * @param id - elevator id
+	 * @return floor the elevator is travelling to, or its current floor if it is not moving
+	 */
+	int target( final int id);
+
+	/**
+	 * @param id - elevator id
+	 * @return current {@link MovingState} of the elevator
+	 */
+	MovingState state( final int id);
+
+	/**
+	 * @param id - elevator id
+	 * @return number of stops waiting after the current one
+	 */
+	int pendingStops( final int id);
+
+	/**
+	 * @param id - elevator id
+	 * @return number of passengers in the elevator
+	 */
+	int load( final int id);
+
+	/**
+	 * @param id - elevator id
+	 * @return true if the elevator is full
+	 */
+	boolean isFull( final int id);
+
+	/**
+	 * @param id - elevator id
+	 * @return number of persons that can still board
+	 */
+	int room( final int id);
+
+	/**
+	 * an elevator moving to its last stop may be chosen for a call it can reach right after that leg.
+	 * the strategy then reserves it for the call, so no other call of the batch takes it, and leaves the
+	 * call unassigned until the elevator is free.
+	 * @param id - elevator id
+	 * @return true if the elevator is moving and has no stop left after its target
+	 */
+	default boolean isFinishingLastLeg( final int id){
+		return isMoving( id) && pendingStops( id) == 0;
+	}
+
+	/**
+	 * check if an elevator can take a call, it serves the floor and the destination of the call
+	 * and has room for everybody waiting. full elevators accept no call.
+	 * @param id - elevator id
+	 * @param call - waiting hall call
+	 * @return true if the call can be given to the elevator
+	 */
+	boolean accepts( final int id, final HallCall call);
+
+	/**
+	 * @param id - elevator id
+	 * @return total power consumed by the elevator
+	 */
+	double powerConsumed( final int id);
+
+	/**
+	 * @return clock time of this decision in milliseconds, comparable to {@link ElevatorSystem.HallCall#getTime()}
+	 */
+	long time();
+}
@@ -0,0 +1,46 @@
+package Dispatch;
+
+import java.util.Arrays;
+import java.util.List;
+
+import ElevatorSystem.HallCall;
+
+/**
+ * oldest call first, each call gets the free elevator with the fewest passengers, distance breaks ties.
+ * full elevators are never sent.
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public class LeastLoadedStrategy implements DispatchStrategy {
+
+	@Override
+	public int[] assign(FleetView fleet, List<HallCall> calls) {
+		int[] assignment = new int[calls.size()];
+		Arrays.fill(assignment, NONE);
+		boolean[] used = new boolean[fleet.size()];
+		for (int i = 0; i < assignment.length; i++) {
+			HallCall call = calls.get(i);
+			int floor = call.getFloor();
+			int bestLoad = Integer.MAX_VALUE;
+			int bestDistance = Integer.MAX_VALUE;
+			for (int id = 0; id < fleet.size(); id++) {
+				if (used[id] || !fleet.isFree(id) || !fleet.accepts(id, call)) {
+					continue;
+				}
+				int load = fleet.load(id);
+				int distance = Math.abs(fleet.floor(id) - floor);
+				if (load < bestLoad || load == bestLoad && distance < bestDistance) {
+					bestLoad = load;
+					bestDistance = distance;
+					assignment[i] = id;
+				}
+			}
+			// zoned elevators may leave a call unassigned while later calls still find one
+			if (assignment[i] != NONE) {
+				used[assignment[i]] = true;
+			}
+		}
+		return assignment;
+	}
+}
@@ -0,0 +1,42 @@
+package Dispatch;
+
+import java.util.Arrays;
+import java.util.List;
+
+import ElevatorSystem.HallCall;
+
+/**
+ * oldest call first, each call gets the closest free elevator.
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public class NearestCarStrategy implements DispatchStrategy {
+
+	@Override
+	public int[] assign(FleetView fleet, List<HallCall> calls) {
+		int[] assignment = new int[calls.size()];
+		Arrays.fill(assignment, NONE);
+		boolean[] used = new boolean[fleet.size()];
+		for (int i = 0; i < assignment.length; i++) {
+			HallCall call = calls.get(i);
+			int floor = call.getFloor();
+			int smallest = Integer.MAX_VALUE;
+			for (int id = 0; id < fleet.size(); id++) {
+				if (used[id] || !fleet.isFree(id) || !fleet.accepts(id, call)) {
+					continue;
+				}
+				int distance = Math.abs(fleet.floor(id) - floor);
+				if (distance < smallest) {
+					smallest = distance;
+					assignment[i] = id;
+				}
+			}
+			// zoned elevators may leave a call unassigned while later calls still find one
+			if (assignment[i] != NONE) {
+				used[assignment[i]] = true;
+			}
+		}
+		return assignment;
+	}
+}
@@ -18,6 +18,12 @@ public interface Elevator{
 	 * @return integer for total capacity currently in the {@link Elevator}
 	 */
 	int getCapacity();
+
+	/**
+	 * get the most persons the elevator can carry
+	 * @return maximum capacity of the {@link Elevator}
+	 */
+	int getMaxCapacity();
 	
 	/**
 	 * check if capacity has reached its maximum
@@ -61,6 +67,18 @@ public interface Elevator{
 	 */
 	int getFloor();
 	
+	/**
+	 * get lowest floor this {@link Elevator} serves, zoned elevators serve part of the building
+	 * @return lowest served floor
+	 */
+	int getMinFloor();
+	
+	/**
+	 * get highest floor this {@link Elevator} serves
+	 * @return highest served floor
+	 */
+	int getMaxFloor();
+	
 	/**
 	 * Unique integer that identifies this {@link Elevator} object
 	 * @return unique identifier integer
@@ -73,6 +91,12 @@ public interface Elevator{
 	 */
 	void addPersons( final int persons);
 
+	/**
+	 * remove number of persons from {@link Elevator}
+	 * @param persons - number of passengers getting off at current floor
+	 */
+	void removePersons( final int persons);
+
 	/**
 	 * represent the request made by one passenger inside of an {@link Elevator} object
 	 * @param floor - target floor
@@ -90,4 +114,10 @@ public interface Elevator{
 	 * @param observer - add to this {@link Elevator}, cannot be null
 	 */
 	void addObserver( Observer observer);
+
+	/**
+	 * add an {@link ElevatorListener} to this {@link Elevator}, unlike {@link Observer} nothing is allocated per step
+	 * @param listener - add to this {@link Elevator}, cannot be null
+	 */
+	void addListener( ElevatorListener listener);
 }
@@ -5,6 +5,9 @@ import java.util.List;
 import java.util.Observable;
 import java.util.Observer;
 import ElevatorSystem.ElevatorPanel;
+import Metrics.FlightEvents;
+import Simulator.RealTimeClock;
+import Simulator.SimulationClock;
 
 /**
  * Extends Observable and implements Elevator, contains features and functions of elevators.
@@ -17,30 +20,71 @@ public class ElevatorImp extends Observable implements Elevator {
 	public final static int POWER_CONTINOUS=1;
 	public final static long SLEEP_START_STOP=500;
 	public final static long SLEEP_CONTINOUS=250;
+	public final static int DEFAULT_MIN_FLOOR=0;
+	public final static int DEFAULT_MAX_FLOOR=20;
 	
 	private final int MAX_CAPACITY_PERSONS;
+	private final int MIN_FLOOR;
+	private final int MAX_FLOOR;
 	private final boolean delay;
 	private final int ID;
+	private final SimulationClock clock;
 		
-	private int powerUsed;
-	private int currentFloor;
-	private int capacity;
+	private volatile int powerUsed;
+	private volatile int currentFloor;
+	private volatile int capacity;
 	private ElevatorPanel panel;
 	private volatile MovingState state = MovingState.Idle;
-	private int step;
+	private volatile ElevatorListener[] listeners = new ElevatorListener[0];
 
 	/**
-	 * Constructor, initialize a new elevator
+	 * Constructor, initialize a new elevator serving part of the building, it starts on the
+	 * floor of its range closest to floor 0
 	 * @param CAPACITY_PERSONS
 	 * @param panel
 	 * @param ID
-	 * @param delay
+	 * @param MIN_FLOOR - lowest floor this elevator serves
+	 * @param MAX_FLOOR - highest floor this elevator serves
+	 * @param delay - false to step through floors without sleeping
+	 * @param clock - {@link SimulationClock} used to time each floor step
 	 */
-	public ElevatorImp(int CAPACITY_PERSONS,ElevatorPanel panel, int ID, boolean delay) {
+	public ElevatorImp(int CAPACITY_PERSONS,ElevatorPanel panel, int ID, int MIN_FLOOR, int MAX_FLOOR, boolean delay, SimulationClock clock) {
+		if (clock == null) {
+			throw new NullPointerException("The clock should not be null");
+		}
+		if (MAX_FLOOR < MIN_FLOOR) {
+			throw new IllegalArgumentException("The max floor cannot be below the min floor");
+		}
 		MAX_CAPACITY_PERSONS = CAPACITY_PERSONS;
 		this.panel = panel;	
 		this.delay = delay;
 		this.ID = ID;
+		this.clock = clock;
+		this.MIN_FLOOR = MIN_FLOOR;
+		this.MAX_FLOOR = MAX_FLOOR;
+		currentFloor = Math.max(MIN_FLOOR, Math.min(MAX_FLOOR, 0));
+	}
+
+	/**
+	 * Constructor, initialize a new elevator serving every floor of the panel, or
+	 * {@link #DEFAULT_MIN_FLOOR}-{@link #DEFAULT_MAX_FLOOR} without a panel
+	 * @param CAPACITY_PERSONS
+	 * @param panel
+	 * @param ID
+	 * @param delay - false to step through floors without sleeping
+	 * @param clock - {@link SimulationClock} used to time each floor step
+	 */
+	public ElevatorImp(int CAPACITY_PERSONS,ElevatorPanel panel, int ID, boolean delay, SimulationClock clock) {
+		this(CAPACITY_PERSONS,panel,ID,panel==null?DEFAULT_MIN_FLOOR:panel.getMinFloor(),
+				panel==null?DEFAULT_MAX_FLOOR:panel.getMaxFloor(),delay,clock);
+	}
+	
+	public ElevatorImp(int CAPACITY_PERSONS,ElevatorPanel panel, int ID, boolean delay) {
+		this(CAPACITY_PERSONS,panel,ID,delay,new RealTimeClock());
+	}
+	
+	public ElevatorImp(int CAPACITY_PERSONS, ElevatorPanel panel, int ID, SimulationClock clock) {
+		this(CAPACITY_PERSONS,panel,ID,true,clock);
 	}
 	
 	public ElevatorImp(int CAPACITY_PERSONS, ElevatorPanel panel, int ID) {
@@ -53,59 +97,130 @@ public class ElevatorImp extends Observable implements Elevator {
 	 */
 	@Override
 	public void moveTo(int floor) {		
-		if(floor<0||floor>20) {			
-			throw new IllegalArgumentException("The floor should be 0-20") ; 
+		if(floor<MIN_FLOOR||floor>MAX_FLOOR) {			
+			throw new IllegalArgumentException("The floor should be " + MIN_FLOOR + "-" + MAX_FLOOR) ; 
 		}
+		// flight recorder events are only allocated while a recording is running
+		MoveEvent move = FlightEvents.enabled(MoveEvent.class) ? new MoveEvent() : null;
+		if (move != null) {
+			move.begin();
+		}
+		int startFloor = currentFloor;
+		int startPower = powerUsed;
 		while(floor!=currentFloor) {		
-			switch (getState()) {
-				case Idle:
-					step = floor-currentFloor<0?-1:1;
-					state = step==1?MovingState.SlowUp:MovingState.SlowDown;					
-					break;
-				case SlowUp:					
-					currentFloor += 1;
-					powerUsed +=2;
-					step = floor-currentFloor;
-					if(step==1)
-						state = MovingState.SlowUp;
-					else if(step>1)
-						state = MovingState.Up;
-					else
-						state = MovingState.Idle;						
-					break;					
-				case SlowDown:
-					currentFloor -= 1;
-					powerUsed +=2;
-					step = currentFloor - floor;
-					if(step==1)
-						state = MovingState.SlowDown;
-					else if(step>1)
-						state = MovingState.Down;
-					else
-						state = MovingState.Idle;					
-					break;
-				case Up:
-					currentFloor += 1; 
-					powerUsed +=1;
-					step = floor - currentFloor;
-					state = step>1?MovingState.Up:MovingState.SlowUp;										
-					break;
-				case Down:
-					currentFloor -= 1;
-					powerUsed +=1;
-					step = currentFloor - floor;
-					state = step>1?MovingState.Down:MovingState.SlowDown;					
-					break;					
+			MovingState previous = state;
+			currentFloor += travel(previous);
+			powerUsed += power(previous);
+			state = next(previous, currentFloor, floor);
+			if (state != previous) {
+				traceState(previous);
+			}
+			for (ElevatorListener listener : listeners) {
+				listener.onStep(ID, currentFloor, floor, powerUsed, state);
+			}
+			// the boxed list is only built for the legacy observers
+			if (countObservers() > 0) {
+				setChanged();
+				notifyObservers(Arrays.asList(ID, currentFloor,floor, powerUsed));
 			}
-			setChanged();
-			notifyObservers(Arrays.asList(ID, currentFloor,floor, powerUsed));	
 			
+			if (!delay) {
+				continue;
+			}
 			try {				
-				Thread.sleep(SLEEP_CONTINOUS);
+				clock.sleep(SLEEP_CONTINOUS);
 			} catch (InterruptedException e) {
 				e.printStackTrace();
 			}
 		}
+		if (move != null) {
+			move.end();
+			if (move.shouldCommit()) {
+				move.elevator = ID;
+				move.from = startFloor;
+				move.to = floor;
+				move.power = powerUsed - startPower;
+				move.commit();
+			}
+		}
+	}
+
+	/**
+	 * floors moved by one step of {@link #moveTo(int)} made in a state
+	 * @param state - state before the step
+	 * @return 1 up, -1 down, 0 otherwise
+	 */
+	static int travel(MovingState state) {
+		switch (state) {
+			case SlowUp:
+			case Up:
+				return 1;
+			case SlowDown:
+			case Down:
+				return -1;
+			default:
+				return 0;
+		}
+	}
+
+	/**
+	 * power used by one step of {@link #moveTo(int)} made in a state
+	 * @param state - state before the step
+	 * @return {@link #POWER_START_STOP} when slow, {@link #POWER_CONTINOUS} at full speed, 0 otherwise
+	 */
+	static int power(MovingState state) {
+		switch (state) {
+			case SlowUp:
+			case SlowDown:
+				return POWER_START_STOP;
+			case Up:
+			case Down:
+				return POWER_CONTINOUS;
+			default:
+				return 0;
+		}
+	}
+
+	/**
+	 * state after one step of {@link #moveTo(int)}, an {@link MovingState#Off} elevator stays off
+	 * @param state - state before the step
+	 * @param floor - floor after the step
+	 * @param target - floor the elevator is moving to
+	 * @return next state
+	 */
+	static MovingState next(MovingState state, int floor, int target) {
+		int step;
+		switch (state) {
+			case Idle:
+				return target < floor ? MovingState.SlowDown : MovingState.SlowUp;
+			case SlowUp:
+				step = target - floor;
+				return step == 1 ? MovingState.SlowUp : step > 1 ? MovingState.Up : MovingState.Idle;
+			case SlowDown:
+				step = floor - target;
+				return step == 1 ? MovingState.SlowDown : step > 1 ? MovingState.Down : MovingState.Idle;
+			case Up:
+				return target - floor > 1 ? MovingState.Up : MovingState.SlowUp;
+			case Down:
+				return floor - target > 1 ? MovingState.Down : MovingState.SlowDown;
+			default:
+				return state;
+		}
+	}
+
+	/**
+	 * emit a {@link StateEvent} for the step that just left previous
+	 * @param previous - state before the step
+	 */
+	private void traceState(MovingState previous) {
+		if (FlightEvents.enabled(StateEvent.class)) {
+			StateEvent event = new StateEvent();
+			event.elevator = ID;
+			event.floor = currentFloor;
+			event.previous = previous.name();
+			event.state = state.name();
+			event.commit();
+		}
 	}
 	
 	/**
@@ -113,13 +228,46 @@ public class ElevatorImp extends Observable implements Elevator {
 	 * @param persons - number of passengers getting on at current floor
 	 */
 	@Override
-	public void addPersons(int persons){
+	public synchronized void addPersons(int persons){
 		if(persons<0||persons+capacity > MAX_CAPACITY_PERSONS) {
 			throw new IllegalArgumentException();
 		}
 		capacity += persons;
 	}
 	
+	/**
+	 * remove number of persons from {@link Elevator}
+	 * @param persons - number of passengers getting off at current floor
+	 */
+	@Override
+	public synchronized void removePersons(int persons){
+		if(persons<0||persons > capacity) {
+			throw new IllegalArgumentException("The persons should be 0-" + capacity);
+		}
+		capacity -= persons;
+	}
+	
+	/**
+	 * put a new elevator in a captured state, for example from a snapshot. a state in motion
+	 * continues from this floor on the next {@link #moveTo(int)}.
+	 * @param floor - current floor
+	 * @param state - current {@link MovingState}
+	 * @param load - persons on board
+	 * @param power - power consumed so far
+	 */
+	public synchronized void restore(int floor, MovingState state, int load, int power) {
+		if (state == null) {
+			throw new NullPointerException();
+		}
+		if (floor < MIN_FLOOR || floor > MAX_FLOOR || load < 0 || load > MAX_CAPACITY_PERSONS || power < 0) {
+			throw new IllegalArgumentException("The floor should be " + MIN_FLOOR + "-" + MAX_FLOOR + " and the load 0-" + MAX_CAPACITY_PERSONS);
+		}
+		currentFloor = floor;
+		this.state = state;
+		capacity = load;
+		powerUsed = power;
+	}
+
 	/**
 	 * represent the request made by one passenger inside of {@link Elevator}
 	 * @param floor - target floor
@@ -150,6 +298,15 @@ public class ElevatorImp extends Observable implements Elevator {
 		return capacity;
 	}
 	
+	/**
+	 * get the most persons the elevator can carry
+	 * @return maximum capacity of the {@link Elevator}
+	 */
+	@Override
+	public int getMaxCapacity() {
+		return MAX_CAPACITY_PERSONS;
+	}
+	
 	/**
 	 * get current floor of {@link Elevator} at this point
 	 * @return current floor
@@ -159,6 +316,24 @@ public class ElevatorImp extends Observable implements Elevator {
 		return currentFloor;
 	}
 	
+	/**
+	 * get lowest floor this {@link Elevator} serves
+	 * @return lowest served floor
+	 */
+	@Override
+	public int getMinFloor() {
+		return MIN_FLOOR;
+	}
+	
+	/**
+	 * get highest floor this {@link Elevator} serves
+	 * @return highest served floor
+	 */
+	@Override
+	public int getMaxFloor() {
+		return MAX_FLOOR;
+	}
+	
 	/**
 	 * return total amount of power consumed to this point
 	 * @return power consumed
@@ -221,6 +396,20 @@ public class ElevatorImp extends Observable implements Elevator {
 		}
 		super.addObserver(observer);		
 	};
+
+	/**
+	 * add an {@link ElevatorListener} to this {@link Elevator}
+	 * @param listener - add to this {@link Elevator}, cannot be null
+	 */
+	@Override
+	public synchronized void addListener(ElevatorListener listener) {
+		if (listener == null) {
+			throw new NullPointerException();
+		}
+		ElevatorListener[] copy = Arrays.copyOf(listeners, listeners.length + 1);
+		copy[listeners.length] = listener;
+		listeners = copy;
+	}
 	
 	public boolean equals(Object obj) {
 		if (obj == null) {
@@ -229,5 +418,10 @@ public class ElevatorImp extends Observable implements Elevator {
 		ElevatorImp elevator = (ElevatorImp) obj;
 		return this.ID == elevator.ID;
 	}
+
+	@Override
+	public int hashCode() {
+		return ID;
+	}
 	
 }
@@ -0,0 +1,23 @@
+package Elevator;
+
+/**
+ * <p>
+ * receives every floor step of an {@link Elevator} as primitive values.
+ * called on the thread moving the {@link Elevator}, implementations should return quickly.
+ * </p>
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public interface ElevatorListener {
+
+	/**
+	 * called after each step of {@link Elevator#moveTo(int)}
+	 * @param id - {@link Elevator#id()} of the elevator
+	 * @param floor - current floor after the step
+	 * @param target - floor the elevator is moving to
+	 * @param power - total power consumed so far
+	 * @param state - {@link MovingState} after the step
+	 */
+	void onStep( final int id, final int floor, final int target, final int power, final MovingState state);
+}
@@ -0,0 +1,179 @@
+package Elevator;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * power and steps of every {@link ElevatorImp#moveTo(int)} in a building, for each start floor,
+ * target floor and {@link MovingState} the elevator is in when the move starts. the table is filled
+ * by running the same state machine as {@link ElevatorImp}, so the costs are exact, and every lookup
+ * is O(1).
+ * </p>
+ * <p>
+ * memory is 2 ints per state and pair of floors, about 48MB for 1000 floors.
+ * </p>
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public class EnergyCostTable {
+
+	/**
+	 * cost of a move that never ends, an {@link MovingState#Off} elevator does not move
+	 */
+	public static final int UNREACHABLE = Integer.MAX_VALUE;
+	private static final MovingState[] STATES = MovingState.values();
+	// moving away from the target overshoots by at most two floors before turning
+	private static final int PAD = 2;
+
+	private final int MIN_FLOOR;
+	private final int MAX_FLOOR;
+	private final int FLOORS;
+	private final int[] power;
+	private final int[] steps;
+
+	/**
+	 * @param MIN_FLOOR - lowest floor of the building
+	 * @param MAX_FLOOR - highest floor of the building
+	 * @throws IllegalArgumentException - if the range is empty or too large for one table
+	 */
+	public EnergyCostTable(int MIN_FLOOR, int MAX_FLOOR) {
+		if (MAX_FLOOR < MIN_FLOOR) {
+			throw new IllegalArgumentException("The max floor cannot be below the min floor");
+		}
+		long floors = (long) MAX_FLOOR - MIN_FLOOR + 1;
+		if (floors * floors * STATES.length > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("The building has too many floors for one table");
+		}
+		this.MIN_FLOOR = MIN_FLOOR;
+		this.MAX_FLOOR = MAX_FLOOR;
+		FLOORS = (int) floors;
+		power = new int[STATES.length * FLOORS * FLOORS];
+		steps = new int[power.length];
+		fill();
+	}
+
+	/**
+	 * walk the state machine once per target, every (state, floor) reached on the way is kept so
+	 * each entry is computed once
+	 */
+	private void fill() {
+		int width = FLOORS + 2 * PAD;
+		int[] memoPower = new int[STATES.length * width];
+		int[] memoSteps = new int[memoPower.length];
+		int[] pathState = new int[memoPower.length];
+		int[] pathFloor = new int[memoPower.length];
+		for (int to = MIN_FLOOR; to <= MAX_FLOOR; to++) {
+			Arrays.fill(memoPower, -1);
+			for (MovingState start : STATES) {
+				for (int from = MIN_FLOOR; from <= MAX_FLOOR; from++) {
+					int index = index(start, from, to);
+					if (start.isOff() && from != to) {
+						power[index] = UNREACHABLE;
+						steps[index] = UNREACHABLE;
+						continue;
+					}
+					MovingState state = start;
+					int floor = from;
+					int length = 0;
+					int p = 0;
+					int n = 0;
+					while (floor != to) {
+						int slot = slot(state, floor, width);
+						if (slot >= 0 && memoPower[slot] >= 0) {
+							p = memoPower[slot];
+							n = memoSteps[slot];
+							break;
+						}
+						if (length == pathState.length) {
+							pathState = Arrays.copyOf(pathState, length * 2);
+							pathFloor = Arrays.copyOf(pathFloor, length * 2);
+						}
+						pathState[length] = state.ordinal();
+						pathFloor[length] = floor;
+						length++;
+						floor += ElevatorImp.travel(state);
+						state = ElevatorImp.next(state, floor, to);
+					}
+					for (int i = length - 1; i >= 0; i--) {
+						p += ElevatorImp.power(STATES[pathState[i]]);
+						n++;
+						int slot = slot(STATES[pathState[i]], pathFloor[i], width);
+						if (slot >= 0) {
+							memoPower[slot] = p;
+							memoSteps[slot] = n;
+						}
+					}
+					power[index] = p;
+					steps[index] = n;
+				}
+			}
+		}
+	}
+
+	private int slot(MovingState state, int floor, int width) {
+		int offset = floor - MIN_FLOOR + PAD;
+		return offset < 0 || offset >= width ? -1 : state.ordinal() * width + offset;
+	}
+
+	private int index(MovingState state, int from, int to) {
+		return (state.ordinal() * FLOORS + from - MIN_FLOOR) * FLOORS + to - MIN_FLOOR;
+	}
+
+	private int checkedIndex(MovingState state, int from, int to) {
+		if (state == null) {
+			throw new NullPointerException();
+		}
+		if (from < MIN_FLOOR || from > MAX_FLOOR || to < MIN_FLOOR || to > MAX_FLOOR) {
+			throw new IllegalArgumentException("The floor should be " + MIN_FLOOR + "-" + MAX_FLOOR);
+		}
+		return index(state, from, to);
+	}
+
+	/**
+	 * power {@link ElevatorImp#moveTo(int)} will use
+	 * @param state - state of the elevator when the move starts
+	 * @param from - floor of the elevator
+	 * @param to - target floor
+	 * @return power of the move, {@link #UNREACHABLE} if the elevator is off
+	 */
+	public int power(MovingState state, int from, int to) {
+		return power[checkedIndex(state, from, to)];
+	}
+
+	/**
+	 * steps {@link ElevatorImp#moveTo(int)} will take, each one lasts {@link ElevatorImp#SLEEP_CONTINOUS}
+	 * @param state - state of the elevator when the move starts
+	 * @param from - floor of the elevator
+	 * @param to - target floor
+	 * @return steps of the move, {@link #UNREACHABLE} if the elevator is off
+	 */
+	public int steps(MovingState state, int from, int to) {
+		return steps[checkedIndex(state, from, to)];
+	}
+
+	/**
+	 * @param state - state of the elevator when the move starts
+	 * @param from - floor of the elevator
+	 * @param to - target floor
+	 * @return clock milliseconds of the move, {@link Long#MAX_VALUE} if the elevator is off
+	 */
+	public long travelTime(MovingState state, int from, int to) {
+		int n = steps(state, from, to);
+		return n == UNREACHABLE ? Long.MAX_VALUE : n * ElevatorImp.SLEEP_CONTINOUS;
+	}
+
+	/**
+	 * @return lowest floor of the table
+	 */
+	public int getMinFloor() {
+		return MIN_FLOOR;
+	}
+
+	/**
+	 * @return highest floor of the table
+	 */
+	public int getMaxFloor() {
+		return MAX_FLOOR;
+	}
+}
@@ -0,0 +1,100 @@
+package Elevator;
+
+/**
+ * <p>
+ * builds routes of floors for a building with a bounded floor range. floors are put in a bitset
+ * and read back in order, so sorting a batch costs one pass over the batch plus one word per
+ * 64 floors, and duplicate floors disappear on the way.
+ * </p>
+ * <p>
+ * the bitset is reused between calls, an instance must not be shared between threads
+ * without synchronization.
+ * </p>
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public class FloorRoute {
+
+	private final int minFloor;
+	private final int maxFloor;
+	private final long[] bits;
+
+	/**
+	 * @param minFloor - lowest floor of the building
+	 * @param maxFloor - highest floor of the building
+	 */
+	public FloorRoute(int minFloor, int maxFloor) {
+		if (maxFloor < minFloor) {
+			throw new IllegalArgumentException("The max floor cannot be below the min floor");
+		}
+		this.minFloor = minFloor;
+		this.maxFloor = maxFloor;
+		bits = new long[(maxFloor - minFloor + 64) >>> 6];
+	}
+
+	/**
+	 * sort floors without duplicates, the given array is not changed
+	 * @param floors - floors in any order
+	 * @param ascending - true for ascending, false for descending
+	 * @return new sorted array
+	 * @throws IllegalArgumentException - if a floor is outside of the range, nothing is sorted then
+	 */
+	public int[] sort(int[] floors, boolean ascending) {
+		int count = mark(floors);
+		int[] route = new int[count];
+		drain(route, 0, ascending);
+		return route;
+	}
+
+	/**
+	 * set a bit for every floor
+	 * @return number of distinct floors
+	 */
+	private int mark(int[] floors) {
+		if (floors == null) {
+			throw new NullPointerException("The floors should not be null");
+		}
+		for (int floor : floors) {
+			if (floor < minFloor || floor > maxFloor) {
+				throw new IllegalArgumentException("The floor should be " + minFloor + "-" + maxFloor);
+			}
+		}
+		int count = 0;
+		for (int floor : floors) {
+			int i = floor - minFloor;
+			long bit = 1L << i;
+			if ((bits[i >>> 6] & bit) == 0) {
+				bits[i >>> 6] |= bit;
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * write the marked floors in order and clear the bitset
+	 */
+	private void drain(int[] route, int k, boolean ascending) {
+		if (ascending) {
+			for (int w = 0; w < bits.length; w++) {
+				long word = bits[w];
+				while (word != 0) {
+					route[k++] = (w << 6) + Long.numberOfTrailingZeros(word) + minFloor;
+					word &= word - 1;
+				}
+				bits[w] = 0;
+			}
+		} else {
+			for (int w = bits.length - 1; w >= 0; w--) {
+				long word = bits[w];
+				while (word != 0) {
+					int bit = 63 - Long.numberOfLeadingZeros(word);
+					route[k++] = (w << 6) + bit + minFloor;
+					word &= ~(1L << bit);
+				}
+				bits[w] = 0;
+			}
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package Elevator;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * flight recorder event spanning one {@link ElevatorImp#moveTo(int)}, from the first step to the arrival.
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+@Name("ElevatorEmulator.Move")
+@Label("Elevator Move")
+@Category({ "Elevator Emulator", "Elevator" })
+@Description("An elevator moving to a floor")
+class MoveEvent extends Event {
+
+	@Label("Elevator")
+	int elevator;
+
+	@Label("From Floor")
+	int from;
+
+	@Label("To Floor")
+	int to;
+
+	@Label("Power Used")
+	@Description("Power consumed by this move")
+	int power;
+}
@@ -1,59 +1,44 @@
 package Elevator;
 
+import java.util.Arrays;
+
 /**
  * This class is used to sort array of floors by ascending or descending.
  * @author Chenxiao Cui
  * @version March 23, 2018
+ * @deprecated use {@link FloorRoute}, it sorts within the floor range of the building and removes duplicates
  */
+@Deprecated
 public class SortFloor {	
 
 	/**
 	 * Sort floors by ascending
 	 * @param param
-	 * @return param int[]
+	 * @return sorted copy of param int[]
 	 */
 	public static int[] ascSort(int[] param) {
-		if( param == null || param.length < 2){
-			new NullPointerException();
+		if( param == null){
+			throw new NullPointerException();
 		}
 		
-		int in, out;
-		int temp = 0;
-
-		for (out = param.length; out > 0; out--) {
-			for (in = 0; in < out - 1; in++) {
-				if (param[in] > param[in + 1]) {
-					temp = param[in];
-					param[in] = param[in + 1];
-					param[in + 1] = temp;
-				}
-			}
-		}
-		return param;
+		int[] result = param.clone();
+		Arrays.sort(result);
+		return result;
 	}
 
 
 	/**
 	 * Sort floors by descending
 	 * @param param
-	 * @return param int[]
+	 * @return sorted copy of param int[]
 	 */
 	public static int[] descSort(int[] param) {
-		if( param == null || param.length < 2){
-			new NullPointerException();
-		}
-		
-		int in, out;
-		int temp = 0;
-		for (out = 0; out < param.length; out++) {
-			for (in = param.length - 1; in > out; in--) {
-				if (param[in] > param[in - 1]) {
-					temp = param[in];
-					param[in] = param[in - 1];
-					param[in - 1] = temp;
-				}
-			}
+		int[] result = ascSort(param);
+		for (int in = 0, out = result.length - 1; in < out; in++, out--) {
+			int temp = result[in];
+			result[in] = result[out];
+			result[out] = temp;
 		}
-		return param;
+		return result;
 	}
 }
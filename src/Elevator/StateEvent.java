@@ -0,0 +1,32 @@
+package Elevator;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * flight recorder event for an elevator changing its {@link MovingState}.
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+@Name("ElevatorEmulator.StateChange")
+@Label("Elevator State Change")
+@Category({ "Elevator Emulator", "Elevator" })
+@Description("An elevator changing its moving state during a step")
+class StateEvent extends Event {
+
+	@Label("Elevator")
+	int elevator;
+
+	@Label("Floor")
+	int floor;
+
+	@Label("Previous State")
+	String previous;
+
+	@Label("State")
+	String state;
+}
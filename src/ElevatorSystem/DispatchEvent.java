@@ -0,0 +1,46 @@
+package ElevatorSystem;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+import Dispatch.DispatchStrategy;
+
+/**
+ * flight recorder event for one hall call decided by the {@link DispatchStrategy}, in
+ * {@link ElevatorSystemImp#GAE(int)}, a blocking call or a dispatch pass.
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+@Name("ElevatorEmulator.Dispatch")
+@Label("Dispatch Decision")
+@Category({ "Elevator Emulator", "Dispatch" })
+@Description("A hall call decided by the dispatch strategy")
+class DispatchEvent extends Event {
+
+	@Label("Floor")
+	int floor;
+
+	@Label("Direction")
+	String direction;
+
+	@Label("Candidates")
+	@Description("Free elevators serving the floor when the call was decided")
+	int candidates;
+
+	@Label("Elevator")
+	@Description("Chosen elevator, -1 if the call keeps waiting")
+	int elevator;
+
+	@Label("Calls")
+	@Description("Hall calls decided in the same strategy call")
+	int calls;
+
+	@Label("Decision Time")
+	@Timespan(Timespan.NANOSECONDS)
+	long decisionTime;
+}
@@ -0,0 +1,51 @@
+package ElevatorSystem;
+
+import Elevator.Elevator;
+import Elevator.MovingState;
+
+/**
+ * <p>
+ * receives the decisions of an {@link ElevatorSystemImp} as primitive values: hall calls as they
+ * are made, the {@link Elevator} sent to each of them, every stop requested from inside an
+ * {@link Elevator} and the riders getting off. called on the thread making the decision, often while the system is locked,
+ * implementations should return quickly and must not call back into the system.
+ * </p>
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public interface DispatchListener {
+
+	/**
+	 * called when a passenger calls for an {@link Elevator}
+	 * @param floor - floor of the hall call
+	 * @param direction - {@link MovingState#Up} or {@link MovingState#Down}
+	 * @param destination - floor the riders travel to, same as floor if not known
+	 * @param persons - riders boarding together, 1 if not known
+	 */
+	void onHallCall( final int floor, final MovingState direction, final int destination, final int persons);
+
+	/**
+	 * called when an {@link Elevator} is sent to a hall call
+	 * @param id - {@link Elevator#id()} of the elevator
+	 * @param floor - floor of the hall call
+	 * @param direction - direction of the hall call
+	 */
+	void onAssign( final int id, final int floor, final MovingState direction);
+
+	/**
+	 * called for every floor of a stop request, after it has been checked and sorted
+	 * @param id - {@link Elevator#id()} of the elevator
+	 * @param floor - requested floor
+	 */
+	void onStop( final int id, final int floor);
+
+	/**
+	 * called when riders get off at the floor an {@link Elevator} has stopped at, after they have
+	 * been removed from its load
+	 * @param id - {@link Elevator#id()} of the elevator
+	 * @param floor - floor the riders got off at
+	 * @param persons - riders that got off
+	 */
+	void onAlight( final int id, final int floor, final int persons);
+}
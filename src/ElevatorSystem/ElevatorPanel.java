@@ -27,4 +27,16 @@ public interface ElevatorPanel{
 	 * @param floors - new stops to which {@link Elevator} will travel.
 	 */
 	void requestStops( final Elevator elevator, final int...floors);
+
+	/**
+	 * get lowest floor of the building, {@link Elevator} serves every floor by default
+	 * @return minimum floor
+	 */
+	int getMinFloor();
+
+	/**
+	 * get highest floor of the building
+	 * @return maximum floor
+	 */
+	int getMaxFloor();
 }
@@ -1,9 +1,13 @@
 package ElevatorSystem;
 
 import java.util.Observer;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import Elevator.Elevator;
+import Elevator.ElevatorListener;
 
 /**
  * <p>
@@ -49,6 +53,51 @@ public interface ElevatorSystem{
 	 */
 	Elevator callDown( final int floor);
 
+	/**
+	 * queue a call to a higher floor without blocking, the call waits until an {@link Elevator} is free.
+	 * cancelling the returned future withdraws the call if it has not been assigned yet.
+	 * @param floor - passengers current floor when calling for an {@link Elevator}
+	 * @return future completed with the {@link Elevator} once it has reached the requested floor
+	 */
+	CompletableFuture<Elevator> callUpAsync( final int floor);
+
+	/**
+	 * queue a call to a lower floor without blocking, the call waits until an {@link Elevator} is free.
+	 * cancelling the returned future withdraws the call if it has not been assigned yet.
+	 * @param floor - passengers current floor when calling for an {@link Elevator}
+	 * @return future completed with the {@link Elevator} once it has reached the requested floor
+	 */
+	CompletableFuture<Elevator> callDownAsync( final int floor);
+
+	/**
+	 * persons waiting at origin ride to destination. they board the first {@link Elevator} that serves
+	 * both floors and has room for all of them, their stop is requested for them and they get off
+	 * when the {@link Elevator} stops at destination.
+	 * @param origin - floor the persons wait at
+	 * @param destination - floor the persons travel to
+	 * @param persons - persons boarding together
+	 * @return future completed with the {@link Elevator} once the persons have boarded
+	 */
+	CompletableFuture<Elevator> travel( final int origin, final int destination, final int persons);
+
+	/**
+	 * same as {@link #callUpAsync(int)}, the future fails with {@link TimeoutException} if no {@link Elevator} arrived in time
+	 * @param floor - passengers current floor when calling for an {@link Elevator}
+	 * @param timeout - maximum wall clock time to wait
+	 * @param unit - unit of timeout
+	 * @return future completed with the {@link Elevator} once it has reached the requested floor
+	 */
+	CompletableFuture<Elevator> callUpAsync( final int floor, final long timeout, final TimeUnit unit);
+
+	/**
+	 * same as {@link #callDownAsync(int)}, the future fails with {@link TimeoutException} if no {@link Elevator} arrived in time
+	 * @param floor - passengers current floor when calling for an {@link Elevator}
+	 * @param timeout - maximum wall clock time to wait
+	 * @param unit - unit of timeout
+	 * @return future completed with the {@link Elevator} once it has reached the requested floor
+	 */
+	CompletableFuture<Elevator> callDownAsync( final int floor, final long timeout, final TimeUnit unit);
+
 	/**
 	 * return current floor of {@link Elevator} in {@link ElevatorSystem}.
 	 * since there is only 1 {@link Elevator} no need for any arguments.
@@ -82,6 +131,12 @@ public interface ElevatorSystem{
 	 * @param observer - to be added to all {@link Elevator}, cannot be null
 	 */
 	void addObserver( Observer observer);
+
+	/**
+	 * add an {@link ElevatorListener} to be attached to all {@link Elevator} objects
+	 * @param listener - to be added to all {@link Elevator}, cannot be null
+	 */
+	void addListener( ElevatorListener listener);
 	
 	/**
 	 * shutdown {@link ExecutorService} which handles are threads
@@ -92,4 +147,4 @@ public interface ElevatorSystem{
 	 * start the main thread controlling {@link ElevatorSystem}
 	 */
 	void start();
-}
\ No newline at end of file
+}
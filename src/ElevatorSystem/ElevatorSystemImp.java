@@ -1,19 +1,40 @@
 package ElevatorSystem;
 
-import java.util.HashMap;
-import java.util.LinkedList;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.lang.management.ManagementFactory;
 import java.util.List;
-import java.util.Map;
 import java.util.Observer;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import Dispatch.DispatchStrategy;
+import Dispatch.FleetView;
+import Dispatch.NearestCarStrategy;
 import Elevator.Elevator;
+import Elevator.ElevatorImp;
+import Elevator.ElevatorListener;
 import Elevator.MovingState;
-import Elevator.SortFloor;
+import Elevator.FloorRoute;
 import ElevatorSystem.ElevatorSystem;
+import Metrics.FlightEvents;
+import Metrics.SystemMetrics;
+import Simulator.RealTimeClock;
+import Simulator.SimulationClock;
 
 /**
  *
@@ -23,64 +44,331 @@ import ElevatorSystem.ElevatorSystem;
  */
 public class ElevatorSystemImp implements ElevatorPanel, ElevatorSystem {
 
+	private static final long NO_CALL = -1;
+
 	private final Object REQUEST_LOCK = new Object();
 	private final int MAX_FLOOR;
 	private final int MIN_FLOOR;	
-	private Map<Elevator, List<Integer>> stops;
-	private ExecutorService service;
+	private volatile Elevator[] cars = new Elevator[0];
+	private StopQueue[] stops = new StopQueue[0];
+	private boolean[] moving = new boolean[0];
+	private boolean[] sweepUp = new boolean[0];
+	private int[] targets = new int[0];
+	private long[][] stopTimes = new long[0][];
+	private int[][] alighting = new int[0][];
+	private HallCall[] serving = new HallCall[0];
+	private final List<Runnable> resumed = new ArrayList<>();
+	private final FloorRoute route;
+	private volatile DispatchListener[] dispatchListeners = new DispatchListener[0];
+	private int count;
+	private final ExecutorService service;
+	private final boolean ownsService;
 	private AtomicBoolean shutDown = new AtomicBoolean(false);
 	private MovingState callDirection;
+	private final SimulationClock clock;
+	private boolean started;
+	private boolean dispatchPending;
+	private final List<HallCall> hallCalls = new ArrayList<>();
+	private final List<HallCall> batch = Collections.unmodifiableList(hallCalls);
+	private final FleetView fleet = new Fleet();
+	private ScheduledThreadPoolExecutor timer;
+	private RoutingMode routing = RoutingMode.FIFO;
+	private DispatchStrategy strategy = new NearestCarStrategy();
+	private final SystemMetrics metrics = new SystemMetrics();
+	private ObjectName mbean;
 
 	public ElevatorSystemImp(int MIN_FLOOR, int MAX_FLOOR) {
+		this(MIN_FLOOR, MAX_FLOOR, new RealTimeClock());
+	}
+
+	/**
+	 * @param MIN_FLOOR
+	 * @param MAX_FLOOR
+	 * @param clock - {@link SimulationClock} shared with the elevators of this system
+	 */
+	public ElevatorSystemImp(int MIN_FLOOR, int MAX_FLOOR, SimulationClock clock) {
+		this(MIN_FLOOR, MAX_FLOOR, clock, ExecutionMode.PLATFORM);
+	}
+
+	/**
+	 * @param MIN_FLOOR
+	 * @param MAX_FLOOR
+	 * @param clock - {@link SimulationClock} shared with the elevators of this system
+	 * @param mode - {@link ExecutionMode} of the threads moving the elevators
+	 */
+	public ElevatorSystemImp(int MIN_FLOOR, int MAX_FLOOR, SimulationClock clock, ExecutionMode mode) {
+		this(MIN_FLOOR, MAX_FLOOR, clock, mode.newExecutor(), true);
+	}
+
+	/**
+	 * share an {@link ExecutorService} with other systems, for example a work-stealing pool for a
+	 * whole campus. {@link #shutdown()} stops this system but leaves the executor running.
+	 * @param MIN_FLOOR
+	 * @param MAX_FLOOR
+	 * @param clock - {@link SimulationClock} shared with the elevators of this system
+	 * @param service - executor moving the elevators, owned by the caller
+	 */
+	public ElevatorSystemImp(int MIN_FLOOR, int MAX_FLOOR, SimulationClock clock, ExecutorService service) {
+		this(MIN_FLOOR, MAX_FLOOR, clock, service, false);
+	}
+
+	private ElevatorSystemImp(int MIN_FLOOR, int MAX_FLOOR, SimulationClock clock, ExecutorService service, boolean ownsService) {
+		if (clock == null || service == null) {
+			throw new NullPointerException("The clock and executor should not be null");
+		}
 		this.MAX_FLOOR = MAX_FLOOR;
 		this.MIN_FLOOR = MIN_FLOOR;
-		stops = new HashMap<>();
-		service = Executors.newCachedThreadPool();
+		this.clock = clock;
+		route = new FloorRoute(MIN_FLOOR, MAX_FLOOR);
+		this.service = service;
+		this.ownsService = ownsService;
+	}
+
+	/**
+	 * ask for a dispatch pass. passes are coalesced, at most one is queued at a time and
+	 * nothing runs while there is nothing to do. caller must hold REQUEST_LOCK.
+	 */
+	private void signal() {
+		if (!started || dispatchPending || shutDown.get()) {
+			return;
+		}
+		dispatchPending = true;
+		service.submit(clock.track(this::dispatch));
+	}
+
+	/**
+	 * one dispatch pass, send every free elevator to its next stop
+	 */
+	private void dispatch() {
+		synchronized (REQUEST_LOCK) {
+			LockEvent held = LockEvent.hold("dispatch");
+			try {
+				dispatchPending = false;
+				if (shutDown.get()) {
+					return;
+				}
+				for (Elevator e : cars) {
+					if (e == null || !e.isIdle() || stops[e.id()].isEmpty() || moving[e.id()]) {
+						continue;
+					}
+					int floor = nextStop(e);
+					reserve(e, floor);
+					service.submit(clock.track(() -> move(e, floor, NO_CALL, null)));
+				}
+				hallCalls.removeIf(call -> call.future.isDone());
+				if (hallCalls.isEmpty()) {
+					return;
+				}
+				long start = System.nanoTime();
+				int[] assignment = strategy.assign(fleet, batch);
+				long nanos = System.nanoTime() - start;
+				metrics.recordDecision(nanos);
+				long now = clock.currentTimeMillis();
+				for (int i = 0; i < hallCalls.size(); i++) {
+					HallCall call = hallCalls.get(i);
+					int id = assignment[i];
+					if (id != DispatchStrategy.NONE && (!fleet.isFree(id) || !fleet.accepts(id, call))) {
+						id = DispatchStrategy.NONE;
+					}
+					traceDecision(call, id, hallCalls.size(), nanos);
+					if (id == DispatchStrategy.NONE) {
+						continue;
+					}
+					Elevator e = cars[id];
+					call.assigned = true;
+					callDirection = call.direction;
+					sweepUp[id] = call.direction.isGoingUp();
+					reserve(e, call.floor);
+					serving[id] = call;
+					metrics.recordAssignment(now - call.time);
+					for (DispatchListener listener : dispatchListeners) {
+						listener.onAssign(id, call.floor, call.direction);
+					}
+					service.submit(clock.track(() -> move(e, call.floor, call.time, call)));
+				}
+				hallCalls.removeIf(call -> call.assigned);
+			} finally {
+				LockEvent.release(held);
+			}
+		}
 	}
 
-	private Runnable run = () -> {
-		AtomicInteger[] ai = new AtomicInteger[stops.size()];
+	/**
+	 * mark elevator as moving to floor. caller must hold REQUEST_LOCK.
+	 * @param e - free elevator
+	 * @param floor - target floor
+	 */
+	private void reserve(Elevator e, int floor) {
+		moving[e.id()] = true;
+		targets[e.id()] = floor;
+	}
 
-		for (int i = 0; i < ai.length; i++) {
-			ai[i] = new AtomicInteger(0);
+	/**
+	 * remove the stop the elevator should travel to next. caller must hold REQUEST_LOCK.
+	 * @param e - elevator with at least one pending stop
+	 * @return next floor
+	 */
+	private int nextStop(Elevator e) {
+		StopQueue queue = stops[e.id()];
+		if (routing == RoutingMode.FIFO) {
+			return queue.poll();
+		}
+		int floor = e.getFloor();
+		int next = sweepUp[e.id()] ? queue.nextAbove(floor - 1) : queue.nextBelow(floor + 1);
+		if (next == StopQueue.NONE) {
+			sweepUp[e.id()] = !sweepUp[e.id()];
+			next = sweepUp[e.id()] ? queue.nextAbove(floor) : queue.nextBelow(floor);
 		}
-		while (!shutDown.get()) {
-			for (Elevator e : stops.keySet()) {
-				List<Integer> stopList = stops.get(e);
-				if (!e.isIdle() || stopList.isEmpty() || ai[e.id()].get() != 0) {
-					continue;
+		queue.remove(next);
+		return next;
+	}
+
+	/**
+	 * move elevator to floor and signal the dispatcher once it is free again
+	 * @param e - elevator reserved for this move
+	 * @param floor - target floor
+	 * @param called - clock time of the hall call served by this move, {@link #NO_CALL} for a stop
+	 * @param call - queued hall call completed once its riders have boarded, null for a stop or a blocking call
+	 */
+	private void move(Elevator e, int floor, long called, HallCall call) {
+		try {
+			e.moveTo(floor);
+			if (call != null && !board(e, call)) {
+				return;
+			}
+			if (called != NO_CALL) {
+				metrics.recordWait(clock.currentTimeMillis() - called);
+			}
+			if (call != null) {
+				call.future.complete(e);
+			}
+		} finally {
+			synchronized (REQUEST_LOCK) {
+				LockEvent held = LockEvent.hold("arrive");
+				try {
+					moving[e.id()] = false;
+					serving[e.id()] = null;
+					arrived(e);
+					signal();
+				} finally {
+					LockEvent.release(held);
 				}
-				synchronized (REQUEST_LOCK) {					
-					int floor = stopList.remove(0);					
-					ai[e.id()].incrementAndGet();
-					service.submit(() -> {
-						e.moveTo(floor);						
-						ai[e.id()].decrementAndGet();
-					});
+			}
+		}
+	}
+
+	/**
+	 * riders of the call get on and their destination is requested as a stop, a call without riders
+	 * boards right away. when somebody got on since the call was assigned and there is no room left
+	 * the call waits for the next elevator.
+	 * @param e - elevator that has arrived at the floor of the call
+	 * @param call - hall call served by the elevator
+	 * @return true if the riders are on board
+	 */
+	private boolean board(Elevator e, HallCall call) {
+		if (!call.rides()) {
+			return true;
+		}
+		synchronized (REQUEST_LOCK) {
+			if (e.getMaxCapacity() - e.getCapacity() < call.persons) {
+				call.assigned = false;
+				if (shutDown.get()) {
+					call.future.completeExceptionally(new RejectedExecutionException("The system is shut down"));
+				} else {
+					hallCalls.add(call);
 				}
+				return false;
 			}
+			e.addPersons(call.persons);
+			alighting[e.id()][call.destination - e.getMinFloor()] += call.persons;
+			requestStops(e, call.destination);
+			return true;
 		}
+	}
 
-	};
+	/**
+	 * riders of the floor the elevator is on get off and the journey of the stop requested there is
+	 * recorded. caller must hold REQUEST_LOCK.
+	 * @param e - elevator that has stopped
+	 */
+	private void arrived(Elevator e) {
+		long[] times = stopTimes[e.id()];
+		int index = e.getFloor() - e.getMinFloor();
+		if (index < 0 || index >= times.length) {
+			return;
+		}
+		int persons = alighting[e.id()][index];
+		if (persons > 0) {
+			e.removePersons(persons);
+			alighting[e.id()][index] = 0;
+			for (DispatchListener listener : dispatchListeners) {
+				listener.onAlight(e.id(), e.getFloor(), persons);
+			}
+		}
+		if (times[index] != NO_CALL) {
+			metrics.recordJourney(clock.currentTimeMillis() - times[index]);
+			times[index] = NO_CALL;
+		}
+	}
 
 	/**
-	 * Calculate every elevator's steps to the (target) floor and return the closet elevator	 * 
+	 * Ask the {@link DispatchStrategy} for the best free elevator to send to the (target) floor
 	 * @param floor -current floor	 *           
-	 * @return  best Elevator
+	 * @return  best Elevator, null if no elevator is free
 	 */
 	synchronized public Elevator GAE(int floor) {
-		
-		Elevator best = null;
-		int smallest = Integer.MAX_VALUE;		
-
-		// Get best elevator
-		for (Elevator e : stops.keySet()) {
-			if (e.isIdle() && stops.get(e).isEmpty()&&Math.abs((e.getFloor() - floor)) + 1 < smallest) {				
-					best = e;
-					smallest = Math.abs((e.getFloor() - floor)) + 1;				
+		synchronized (REQUEST_LOCK) {
+			LockEvent held = LockEvent.hold("GAE");
+			try {
+				return assign(floor, callDirection == null ? MovingState.Up : callDirection);
+			} finally {
+				LockEvent.release(held);
+			}
+		}
+	}
+
+	/**
+	 * ask the strategy for a single call. caller must hold REQUEST_LOCK.
+	 * @param floor - floor of the call
+	 * @param direction - the elevator calling direction
+	 * @return free elevator or null
+	 */
+	private Elevator assign(int floor, MovingState direction) {
+		HallCall call = new HallCall(floor, direction, clock.currentTimeMillis());
+		long start = System.nanoTime();
+		int[] assignment = strategy.assign(fleet, Collections.singletonList(call));
+		long nanos = System.nanoTime() - start;
+		metrics.recordDecision(nanos);
+		int id = assignment[0];
+		Elevator e = id == DispatchStrategy.NONE || !fleet.isFree(id) || !fleet.accepts(id, call) ? null : cars[id];
+		traceDecision(call, e == null ? DispatchStrategy.NONE : id, 1, nanos);
+		return e;
+	}
+
+	/**
+	 * emit a {@link DispatchEvent}, the candidates are only counted while a recording is running.
+	 * caller must hold REQUEST_LOCK.
+	 * @param call - decided hall call
+	 * @param id - chosen elevator, {@link DispatchStrategy#NONE} if the call keeps waiting
+	 * @param calls - calls decided by the same strategy call
+	 * @param nanos - time spent in the strategy
+	 */
+	private void traceDecision(HallCall call, int id, int calls, long nanos) {
+		if (!FlightEvents.enabled(DispatchEvent.class)) {
+			return;
+		}
+		DispatchEvent event = new DispatchEvent();
+		for (int car = 0; car < cars.length; car++) {
+			if (fleet.isFree(car) && fleet.accepts(car, call)) {
+				event.candidates++;
 			}
 		}
-		return best;
+		event.floor = call.floor;
+		event.direction = call.direction.name();
+		event.elevator = id;
+		event.calls = calls;
+		event.decisionTime = nanos;
+		event.commit();
 	}
 
 	/**	 
@@ -89,13 +377,109 @@ public class ElevatorSystemImp implements ElevatorPanel, ElevatorSystem {
 	 * @return e Elevator
 	 */
 	private Elevator call(int floor, MovingState direction) {
-		callDirection = direction;
-		Elevator e = GAE(floor);
-		e.moveTo(floor);
+		Elevator e;
+		long called = clock.currentTimeMillis();
+		synchronized (REQUEST_LOCK) {
+			LockEvent held = LockEvent.hold("call");
+			try {
+				e = assign(floor, direction);
+				if (e != null) {
+					callDirection = direction;
+					sweepUp[e.id()] = direction.isGoingUp();
+					reserve(e, floor);
+					metrics.recordAssignment(clock.currentTimeMillis() - called);
+					for (DispatchListener listener : dispatchListeners) {
+						listener.onAssign(e.id(), floor, direction);
+					}
+				}
+			} finally {
+				LockEvent.release(held);
+			}
+		}
+		if (e == null) {
+			return callAsync(new HallCall(floor, direction, called)).join();
+		}
+		clock.track(() -> move(e, floor, called, null)).run();
 		return e;
 
 	}
 
+	/**
+	 * queue a hall call, it is assigned by the dispatcher as soon as an {@link Elevator} is free
+	 * @param call - new hall call
+	 * @return future of the call
+	 */
+	private CompletableFuture<Elevator> callAsync(HallCall call) {
+		synchronized (REQUEST_LOCK) {
+			LockEvent held = LockEvent.hold("queue");
+			try {
+				if (shutDown.get()) {
+					call.future.completeExceptionally(new RejectedExecutionException("The system is shut down"));
+				} else {
+					hallCalls.add(call);
+					signal();
+				}
+			} finally {
+				LockEvent.release(held);
+			}
+		}
+		return call.future;
+	}
+
+	/**
+	 * fail the future if it has not completed within the timeout
+	 * @param future - future of a hall call
+	 * @param timeout - wall clock time to wait
+	 * @param unit - unit of timeout
+	 * @return same future
+	 */
+	private CompletableFuture<Elevator> withTimeout(CompletableFuture<Elevator> future, long timeout, TimeUnit unit) {
+		if (unit == null) {
+			throw new NullPointerException();
+		}
+		ScheduledFuture<?> expire;
+		synchronized (REQUEST_LOCK) {
+			if (timer == null) {
+				timer = new ScheduledThreadPoolExecutor(1, r -> {
+					Thread t = new Thread(r, "hall-call-timeout");
+					t.setDaemon(true);
+					return t;
+				});
+				timer.setRemoveOnCancelPolicy(true);
+			}
+			expire = timer.schedule(() -> future.completeExceptionally(new TimeoutException()), timeout, unit);
+		}
+		future.whenComplete((e, t) -> expire.cancel(false));
+		return future;
+	}
+
+	/**
+	 * check the floor of a new hall call and report it to the {@link DispatchListener} objects
+	 * @param floor - hall call floor
+	 * @param direction - the elevator calling direction
+	 * @throws IllegalArgumentException - if floor is not in this building
+	 */
+	private void hallCall(int floor, MovingState direction) {
+		hallCall(floor, direction, floor, 1);
+	}
+
+	/**
+	 * check the floor of a new hall call and report it with its riders to the {@link DispatchListener} objects
+	 * @param floor - hall call floor
+	 * @param direction - the elevator calling direction
+	 * @param destination - floor the riders travel to
+	 * @param persons - riders boarding together
+	 * @throws IllegalArgumentException - if floor is not in this building
+	 */
+	private void hallCall(int floor, MovingState direction, int destination, int persons) {
+		if (floor < MIN_FLOOR || floor > MAX_FLOOR) {
+			throw new IllegalArgumentException("The floor should be " + MIN_FLOOR + "-" + MAX_FLOOR);
+		}
+		for (DispatchListener listener : dispatchListeners) {
+			listener.onHallCall(floor, direction, destination, persons);
+		}
+	}
+
 	/**
 	 * when calling up it means the passenger intends to travel to a higher floor.
 	 * 
@@ -107,9 +491,7 @@ public class ElevatorSystemImp implements ElevatorPanel, ElevatorSystem {
 	 */
 	@Override
 	public Elevator callUp(int floor) {
-		if (floor < 0 || floor > 20) {
-			throw new IllegalArgumentException();
-		}
+		hallCall(floor, MovingState.Up);
 		return call(floor, MovingState.Up);
 
 	}
@@ -123,11 +505,106 @@ public class ElevatorSystemImp implements ElevatorPanel, ElevatorSystem {
 	 */
 	@Override
 	public Elevator callDown(int floor) {
-		if (floor < 0 || floor > 20) {
-			throw new IllegalArgumentException();
+		hallCall(floor, MovingState.Down);
+		return call(floor, MovingState.Down);
+	}
+
+	/**
+	 * queue a call for a higher floor without blocking the caller.
+	 * 
+	 * @param floor
+	 *            - passengers current floor when calling for an {@link Elevator}
+	 * @return future completed with the {@link Elevator} once it has reached the requested floor
+	 */
+	@Override
+	public CompletableFuture<Elevator> callUpAsync(int floor) {
+		hallCall(floor, MovingState.Up);
+		return callAsync(new HallCall(floor, MovingState.Up, clock.currentTimeMillis()));
+	}
+
+	/**
+	 * queue a call for a lower floor without blocking the caller.
+	 * 
+	 * @param floor
+	 *            - passengers current floor when calling for an {@link Elevator}
+	 * @return future completed with the {@link Elevator} once it has reached the requested floor
+	 */
+	@Override
+	public CompletableFuture<Elevator> callDownAsync(int floor) {
+		hallCall(floor, MovingState.Down);
+		return callAsync(new HallCall(floor, MovingState.Down, clock.currentTimeMillis()));
+	}
+
+	/**
+	 * persons waiting at origin ride to destination. they board the first {@link Elevator} that serves
+	 * both floors and has room for all of them, their stop is requested for them and they get off
+	 * when the {@link Elevator} stops at destination.
+	 * 
+	 * @param origin
+	 *            - floor the persons wait at
+	 * @param destination
+	 *            - floor the persons travel to
+	 * @param persons
+	 *            - persons boarding together
+	 * @return future completed with the {@link Elevator} once the persons have boarded
+	 * @throws IllegalArgumentException
+	 *             - if a floor is not in this building, both floors are the same, persons is not
+	 *             positive or no {@link Elevator} can carry the persons between the floors
+	 */
+	@Override
+	public CompletableFuture<Elevator> travel(int origin, int destination, int persons) {
+		if (origin < MIN_FLOOR || origin > MAX_FLOOR || destination < MIN_FLOOR || destination > MAX_FLOOR) {
+			throw new IllegalArgumentException("The floor should be " + MIN_FLOOR + "-" + MAX_FLOOR);
+		}
+		if (origin == destination || persons < 1) {
+			throw new IllegalArgumentException("The destination should be another floor and persons should be positive");
+		}
+		synchronized (REQUEST_LOCK) {
+			boolean carried = false;
+			for (Elevator e : cars) {
+				carried |= e != null && e.getMaxCapacity() >= persons && fleet.serves(e.id(), origin) && fleet.serves(e.id(), destination);
+			}
+			if (!carried) {
+				throw new IllegalArgumentException("No elevator can carry " + persons + " persons from " + origin + " to " + destination);
+			}
 		}
+		MovingState direction = destination > origin ? MovingState.Up : MovingState.Down;
+		hallCall(origin, direction, destination, persons);
+		return callAsync(new HallCall(origin, direction, clock.currentTimeMillis(), destination, persons));
+	}
 
-		return call(floor, MovingState.Down);
+	/**
+	 * same as {@link #callUpAsync(int)}, failing with {@link TimeoutException} if no {@link Elevator}
+	 * has arrived within the timeout.
+	 * 
+	 * @param floor
+	 *            - passengers current floor when calling for an {@link Elevator}
+	 * @param timeout
+	 *            - wall clock time to wait
+	 * @param unit
+	 *            - unit of timeout
+	 * @return future completed with the {@link Elevator} once it has reached the requested floor
+	 */
+	@Override
+	public CompletableFuture<Elevator> callUpAsync(int floor, long timeout, TimeUnit unit) {
+		return withTimeout(callUpAsync(floor), timeout, unit);
+	}
+
+	/**
+	 * same as {@link #callDownAsync(int)}, failing with {@link TimeoutException} if no {@link Elevator}
+	 * has arrived within the timeout.
+	 * 
+	 * @param floor
+	 *            - passengers current floor when calling for an {@link Elevator}
+	 * @param timeout
+	 *            - wall clock time to wait
+	 * @param unit
+	 *            - unit of timeout
+	 * @return future completed with the {@link Elevator} once it has reached the requested floor
+	 */
+	@Override
+	public CompletableFuture<Elevator> callDownAsync(int floor, long timeout, TimeUnit unit) {
+		return withTimeout(callDownAsync(floor), timeout, unit);
 	}
 
 	/**
@@ -142,7 +619,35 @@ public class ElevatorSystemImp implements ElevatorPanel, ElevatorSystem {
 		if (elevator == null)
 			throw new NullPointerException();
 
-		stops.put(elevator, new LinkedList<>());
+		int id = elevator.id();
+		int min = elevator.getMinFloor();
+		int max = elevator.getMaxFloor();
+		if (min < MIN_FLOOR || max > MAX_FLOOR || max < min) {
+			throw new IllegalArgumentException("The elevator should serve floors within " + MIN_FLOOR + "-" + MAX_FLOOR);
+		}
+		synchronized (REQUEST_LOCK) {
+			if (id < 0 || id < cars.length && cars[id] != null) {
+				throw new IllegalArgumentException("The elevator id " + id + " is not available");
+			}
+			if (id >= cars.length) {
+				int length = Math.max(id + 1, cars.length * 2);
+				stops = Arrays.copyOf(stops, length);
+				moving = Arrays.copyOf(moving, length);
+				sweepUp = Arrays.copyOf(sweepUp, length);
+				targets = Arrays.copyOf(targets, length);
+				stopTimes = Arrays.copyOf(stopTimes, length);
+				alighting = Arrays.copyOf(alighting, length);
+				serving = Arrays.copyOf(serving, length);
+				cars = Arrays.copyOf(cars, length);
+			}
+			stops[id] = new StopQueue(min, max);
+			stopTimes[id] = new long[max - min + 1];
+			Arrays.fill(stopTimes[id], NO_CALL);
+			alighting[id] = new int[max - min + 1];
+			metrics.addElevator(id);
+			cars[id] = elevator;
+			count++;
+		}
 	}
 
 	/**
@@ -184,7 +689,7 @@ public class ElevatorSystemImp implements ElevatorPanel, ElevatorSystem {
 	 */
 	@Override
 	public int getElevatorCount() {
-		return stops.size();
+		return count;
 	}
 
 	/**
@@ -196,8 +701,9 @@ public class ElevatorSystemImp implements ElevatorPanel, ElevatorSystem {
 	@Override
 	public double getPowerConsumed() {
 		double result = 0;
-		for (Elevator e : stops.keySet()) {
-			result += e.getPowerConsumed();
+		for (Elevator e : cars) {
+			if (e != null)
+				result += e.getPowerConsumed();
 
 		}
 		return result;
@@ -209,31 +715,85 @@ public class ElevatorSystemImp implements ElevatorPanel, ElevatorSystem {
 			throw new NullPointerException();
 
 		}
-		for (Elevator e : stops.keySet()) {
-			e.addObserver(observer);
+		for (Elevator e : cars) {
+			if (e != null)
+				e.addObserver(observer);
+		}
+	}
+
+	/**
+	 * add an {@link ElevatorListener} to be attached to all {@link Elevator} objects
+	 * @param listener - to be added to all {@link Elevator}, cannot be null
+	 */
+	@Override
+	public void addListener(ElevatorListener listener) {
+		if (listener == null) {
+			throw new NullPointerException();
+		}
+		for (Elevator e : cars) {
+			if (e != null)
+				e.addListener(listener);
+		}
+	}
+
+	/**
+	 * add a {@link DispatchListener} told about every hall call, assignment and stop request
+	 * @param listener - to be added, cannot be null
+	 */
+	public void addDispatchListener(DispatchListener listener) {
+		if (listener == null) {
+			throw new NullPointerException();
+		}
+		synchronized (REQUEST_LOCK) {
+			DispatchListener[] copy = Arrays.copyOf(dispatchListeners, dispatchListeners.length + 1);
+			copy[dispatchListeners.length] = listener;
+			dispatchListeners = copy;
 		}
 	}
 
 	/**
 	 * Shutdown the ExecutorService
-	 * shutdown {@link ExecutorService} which handles are threads
+	 * shutdown {@link ExecutorService} which handles are threads, an executor shared with other systems is left running
 	 */
 	@Override
 	public void shutdown() {
-		shutDown.set(true);
-
-		service.shutdown();
+		synchronized (REQUEST_LOCK) {
+			shutDown.set(true);
+			for (HallCall call : hallCalls) {
+				call.future.completeExceptionally(new RejectedExecutionException("The system is shut down"));
+			}
+			hallCalls.clear();
+			if (timer != null) {
+				timer.shutdown();
+			}
+			if (mbean != null) {
+				try {
+					ManagementFactory.getPlatformMBeanServer().unregisterMBean(mbean);
+				} catch (JMException e) {
+					// already unregistered by someone else
+				}
+				mbean = null;
+			}
+		}
+		if (ownsService) {
+			service.shutdown();
+		}
 	}
 
 	/**
-	 * start the main thread controlling {@link ElevatorSystem}
+	 * start dispatching stops. no thread is kept busy while the system is idle, a dispatch
+	 * pass only runs when a stop is requested or an {@link Elevator} becomes free.
 	 */
 	@Override
 	public void start() {
-		try {
-			service.submit(run);
-		} catch (Exception e) {
-			e.printStackTrace();
+		synchronized (REQUEST_LOCK) {
+			started = true;
+			// moves that were under way when the snapshot of a restored system was taken
+			for (Runnable move : resumed) {
+				service.submit(clock.track(move));
+			}
+			resumed.clear();
+			signal();
 		}
 	}
 
@@ -267,27 +827,350 @@ public class ElevatorSystemImp implements ElevatorPanel, ElevatorSystem {
 			throw new NullPointerException();
 		}
 
-		if(callDirection == MovingState.Up)
-			floors = SortFloor.ascSort(floors);
-		else
-			floors = SortFloor.descSort(floors);
+		synchronized (REQUEST_LOCK) {
+			LockEvent held = LockEvent.hold("stops");
+			try {
+				// the route checks the range before anything is queued, LOOK picks stops by position
+				// so only FIFO depends on the order of the batch
+				floors = route.sort(floors, routing == RoutingMode.LOOK || callDirection == MovingState.Up);
+				// sorted, so the ends of the batch are enough to check the range of a zoned elevator
+				if (floors.length > 0) {
+					int low = Math.min(floors[0], floors[floors.length - 1]);
+					int high = Math.max(floors[0], floors[floors.length - 1]);
+					if (low < elevator.getMinFloor() || high > elevator.getMaxFloor()) {
+						throw new IllegalArgumentException("The floor should be " + elevator.getMinFloor() + "-" + elevator.getMaxFloor());
+					}
+				}
+				StopQueue queue = stops[elevator.id()];
+				long[] times = stopTimes[elevator.id()];
+				long now = clock.currentTimeMillis();
+				for (int floor : floors) {
+					queue.add(floor);
+					if (times[floor - elevator.getMinFloor()] == NO_CALL) {
+						times[floor - elevator.getMinFloor()] = now;
+					}
+					for (DispatchListener listener : dispatchListeners) {
+						listener.onStop(elevator.id(), floor);
+					}
+				}
+				metrics.recordQueueDepth(elevator.id(), queue.size());
+				signal();
+			} finally {
+				LockEvent.release(held);
+			}
+		}
+	}
+
+	/**
+	 * number of hall calls waiting for an {@link Elevator} to be assigned
+	 * @return queued hall calls
+	 */
+	public int getPendingHallCalls() {
+		synchronized (REQUEST_LOCK) {
+			return hallCalls.size();
+		}
+	}
+
+	/**
+	 * get the wait, journey, assignment, decision and queue depth histograms of this system
+	 * @return live metrics of this system
+	 */
+	public SystemMetrics getMetrics() {
+		return metrics;
+	}
 
+	/**
+	 * register {@link #getMetrics()} with the platform MBean server as
+	 * ElevatorSystem:type=Metrics,name=<i>name</i>, it is unregistered on {@link #shutdown()}
+	 * @param name - unique name of this system, for example the building
+	 * @return name the metrics are registered under
+	 * @throws JMException - if the name is taken or not valid
+	 */
+	public ObjectName registerMBean(String name) throws JMException {
+		if (name == null) {
+			throw new NullPointerException();
+		}
+		ObjectName objectName = new ObjectName("ElevatorSystem:type=Metrics,name=" + ObjectName.quote(name));
 		synchronized (REQUEST_LOCK) {
-			List<Integer> list = stops.get(elevator);
-			for (int floor : floors) {
-				list.add(floor);
+			if (mbean != null) {
+				throw new IllegalStateException("The metrics are already registered as " + mbean);
+			}
+			ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, objectName);
+			mbean = objectName;
+		}
+		return objectName;
+	}
+
+	/**
+	 * <p>
+	 * capture the state of every car, its floor, {@link MovingState}, load and power, its pending stops
+	 * and riders, and the queued hall calls. a car in motion is captured with its target and the hall
+	 * call it is serving, a restored system resumes the move from the last step.
+	 * </p>
+	 * <p>
+	 * cars step without holding the lock of the system, take the snapshot while the clock holds still,
+	 * for example on a paused {@link Simulator.PlaybackClock} or from a listener of a single car, to be
+	 * sure no car is halfway through a step. the strategy, listeners and metrics are not captured.
+	 * </p>
+	 * @return snapshot of this system
+	 */
+	public Snapshot snapshot() {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+		DataOutputStream out = new DataOutputStream(bytes);
+		try {
+			synchronized (REQUEST_LOCK) {
+				out.writeLong(clock.currentTimeMillis());
+				out.writeInt(MIN_FLOOR);
+				out.writeInt(MAX_FLOOR);
+				out.writeByte(routing.ordinal());
+				out.writeByte(callDirection == null ? 0 : callDirection.ordinal() + 1);
+				out.writeInt(count);
+				for (Elevator e : cars) {
+					if (e != null) {
+						writeCar(out, e);
+					}
+				}
+				int queued = 0;
+				for (HallCall call : hallCalls) {
+					queued += call.future.isDone() ? 0 : 1;
+				}
+				out.writeInt(queued);
+				for (HallCall call : hallCalls) {
+					if (!call.future.isDone()) {
+						writeCall(out, call);
+					}
+				}
+			}
+		} catch (IOException e) {
+			// a byte array does not fail
+			throw new IllegalStateException(e);
+		}
+		return new Snapshot(bytes.toByteArray());
+	}
+
+	/**
+	 * caller must hold REQUEST_LOCK.
+	 */
+	private void writeCar(DataOutputStream out, Elevator e) throws IOException {
+		int id = e.id();
+		int min = e.getMinFloor();
+		HallCall call = serving[id];
+		out.writeInt(id);
+		out.writeInt(min);
+		out.writeInt(e.getMaxFloor());
+		out.writeInt(e.getMaxCapacity());
+		out.writeInt(e.getFloor());
+		out.writeByte(e.getState().ordinal());
+		out.writeInt(e.getCapacity());
+		out.writeDouble(e.getPowerConsumed());
+		out.writeBoolean(sweepUp[id]);
+		out.writeBoolean(moving[id]);
+		if (moving[id]) {
+			out.writeInt(targets[id]);
+			out.writeBoolean(call != null);
+			if (call != null) {
+				writeCall(out, call);
 			}
 		}
+		int[] queue = stops[id].toArray();
+		out.writeInt(queue.length);
+		for (int floor : queue) {
+			out.writeInt(floor);
+		}
+		// only the floors that have a stop time or riders getting off
+		int entries = 0;
+		for (int i = 0; i < stopTimes[id].length; i++) {
+			entries += stopTimes[id][i] != NO_CALL || alighting[id][i] > 0 ? 1 : 0;
+		}
+		out.writeInt(entries);
+		for (int i = 0; i < stopTimes[id].length; i++) {
+			if (stopTimes[id][i] != NO_CALL || alighting[id][i] > 0) {
+				out.writeInt(min + i);
+				out.writeLong(stopTimes[id][i]);
+				out.writeInt(alighting[id][i]);
+			}
+		}
+	}
+
+	private static void writeCall(DataOutputStream out, HallCall call) throws IOException {
+		out.writeInt(call.floor);
+		out.writeByte(call.direction.ordinal());
+		out.writeLong(call.time);
+		out.writeInt(call.destination);
+		out.writeInt(call.persons);
+	}
+
+	private static HallCall readCall(DataInputStream in) throws IOException {
+		int floor = in.readInt();
+		MovingState direction = state(in.readByte());
+		return new HallCall(floor, direction, in.readLong(), in.readInt(), in.readInt());
+	}
+
+	private static MovingState state(int ordinal) throws IOException {
+		MovingState[] states = MovingState.values();
+		if (ordinal < 0 || ordinal >= states.length) {
+			throw new IOException("Invalid moving state " + ordinal);
+		}
+		return states[ordinal];
+	}
+
+	/**
+	 * rebuild a system from a snapshot with its own platform threads, see
+	 * {@link #restore(Snapshot, SimulationClock, ExecutorService)}
+	 * @param snapshot - state to restore
+	 * @param clock - clock of the new system, not behind the time of the snapshot
+	 * @return new system, not started
+	 * @throws IOException - if the snapshot is corrupt
+	 */
+	public static ElevatorSystemImp restore(Snapshot snapshot, SimulationClock clock) throws IOException {
+		return restore(snapshot, clock, ExecutionMode.PLATFORM.newExecutor(), true);
 	}
 
 	/**
-	 * Return the HashMap
-	 * @return stops
+	 * rebuild a system from a snapshot on a shared executor. the cars are new {@link ElevatorImp}
+	 * objects in the captured state, queued hall calls get new futures. set the strategy, routing
+	 * and listeners before {@link #start()}, which resumes the moves that were under way. one snapshot
+	 * can be restored any number of times.
+	 * @param snapshot - state to restore
+	 * @param clock - clock of the new system, not behind the time of the snapshot
+	 * @param service - executor moving the elevators, owned by the caller
+	 * @return new system, not started
+	 * @throws IOException - if the snapshot is corrupt
 	 */
-	public Map<Elevator, List<Integer>> getStops(){
-		return stops;
+	public static ElevatorSystemImp restore(Snapshot snapshot, SimulationClock clock, ExecutorService service) throws IOException {
+		return restore(snapshot, clock, service, false);
+	}
+
+	private static ElevatorSystemImp restore(Snapshot snapshot, SimulationClock clock, ExecutorService service, boolean ownsService)
+			throws IOException {
+		if (snapshot == null || clock == null || service == null) {
+			throw new NullPointerException("The snapshot, clock and executor should not be null");
+		}
+		if (clock.currentTimeMillis() < snapshot.getTime()) {
+			throw new IllegalArgumentException("The clock should not be behind the snapshot time " + snapshot.getTime());
+		}
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(snapshot.body()));
+		boolean restored = false;
+		try {
+			in.readLong();
+			ElevatorSystemImp system = new ElevatorSystemImp(in.readInt(), in.readInt(), clock, service, ownsService);
+			int routing = in.readByte();
+			if (routing < 0 || routing >= RoutingMode.values().length) {
+				throw new IOException("Invalid routing mode " + routing);
+			}
+			system.routing = RoutingMode.values()[routing];
+			int direction = in.readByte();
+			system.callDirection = direction == 0 ? null : state(direction - 1);
+			for (int cars = in.readInt(); cars > 0; cars--) {
+				system.readCar(in);
+			}
+			for (int calls = in.readInt(); calls > 0; calls--) {
+				system.hallCalls.add(readCall(in));
+			}
+			restored = true;
+			return system;
+		} catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+			throw new IOException("Corrupt snapshot", e);
+		} finally {
+			if (!restored && ownsService) {
+				service.shutdown();
+			}
+		}
+	}
+
+	/**
+	 * add a car in the captured state, only called on a system that is not started yet
+	 */
+	private void readCar(DataInputStream in) throws IOException {
+		int id = in.readInt();
+		int min = in.readInt();
+		int max = in.readInt();
+		ElevatorImp e = new ElevatorImp(in.readInt(), this, id, min, max, true, clock);
+		int floor = in.readInt();
+		MovingState state = state(in.readByte());
+		e.restore(floor, state, in.readInt(), (int) in.readDouble());
+		addElevator(e);
+		sweepUp[id] = in.readBoolean();
+		if (in.readBoolean()) {
+			int target = in.readInt();
+			HallCall call = in.readBoolean() ? readCall(in) : null;
+			reserve(e, target);
+			if (call != null) {
+				call.assigned = true;
+				serving[id] = call;
+				resumed.add(() -> move(e, target, call.time, call));
+			} else {
+				resumed.add(() -> move(e, target, NO_CALL, null));
+			}
+		}
+		for (int queued = in.readInt(); queued > 0; queued--) {
+			stops[id].add(in.readInt());
+		}
+		for (int entries = in.readInt(); entries > 0; entries--) {
+			int index = in.readInt() - min;
+			stopTimes[id][index] = in.readLong();
+			alighting[id][index] = in.readInt();
+		}
+	}
+
+	/**
+	 * get an elevator of this system, for example one created by {@link #restore(Snapshot, SimulationClock)}
+	 * @param id - id of the elevator
+	 * @return elevator with the id, null if there is none
+	 */
+	public Elevator getElevator(int id) {
+		Elevator[] elevators = cars;
+		return id >= 0 && id < elevators.length ? elevators[id] : null;
+	}
+
+	/**
+	 * get the {@link SimulationClock} that times this system, elevators added to it should use the same clock
+	 * @return clock of this system
+	 */
+	public SimulationClock getClock() {
+		return clock;
+	}
+
+	/**
+	 * Return pending stops of an elevator in the order they were queued
+	 * @param elevator - elevator of this system
+	 * @return copy of the stops
+	 */
+	public int[] getStops(Elevator elevator){
+		if (elevator == null) {
+			throw new NullPointerException();
+		}
+		synchronized (REQUEST_LOCK) {
+			return stops[elevator.id()].toArray();
+		}
 	}
 	
+	/**
+	 * choose the order in which elevators serve their stops, {@link RoutingMode#FIFO} by default
+	 * @param mode - {@link RoutingMode} of all elevators in this system
+	 */
+	public void setRoutingMode(RoutingMode mode) {
+		if (mode == null) {
+			throw new NullPointerException();
+		}
+		synchronized (REQUEST_LOCK) {
+			routing = mode;
+		}
+	}
+
+	/**
+	 * choose the policy that assigns hall calls to elevators, {@link NearestCarStrategy} by default
+	 * @param strategy - {@link DispatchStrategy} of this system
+	 */
+	public void setDispatchStrategy(DispatchStrategy strategy) {
+		if (strategy == null) {
+			throw new NullPointerException();
+		}
+		synchronized (REQUEST_LOCK) {
+			this.strategy = strategy;
+		}
+	}
+
 	/**
 	 * Set the MovingState, used for JUnit test
 	 * @param state MovingState
@@ -306,4 +1189,85 @@ public class ElevatorSystemImp implements ElevatorPanel, ElevatorSystem {
 	public int getCurrentFloor() {		
 		return 0;
 	}
+
+	/**
+	 * {@link FleetView} over the arrays of this system, only read while holding REQUEST_LOCK
+	 */
+	private class Fleet implements FleetView {
+
+		@Override
+		public int size() {
+			return cars.length;
+		}
+
+		@Override
+		public boolean exists(int id) {
+			return id >= 0 && id < cars.length && cars[id] != null;
+		}
+
+		@Override
+		public boolean isFree(int id) {
+			return exists(id) && !moving[id] && stops[id].isEmpty() && cars[id].isIdle();
+		}
+
+		@Override
+		public boolean isMoving(int id) {
+			return moving[id];
+		}
+
+		@Override
+		public boolean serves(int id, int floor) {
+			return floor >= cars[id].getMinFloor() && floor <= cars[id].getMaxFloor();
+		}
+
+		@Override
+		public int floor(int id) {
+			return cars[id].getFloor();
+		}
+
+		@Override
+		public int target(int id) {
+			return moving[id] ? targets[id] : cars[id].getFloor();
+		}
+
+		@Override
+		public MovingState state(int id) {
+			return cars[id].getState();
+		}
+
+		@Override
+		public int pendingStops(int id) {
+			return stops[id].size();
+		}
+
+		@Override
+		public int load(int id) {
+			return cars[id].getCapacity();
+		}
+
+		@Override
+		public boolean isFull(int id) {
+			return cars[id].isFull();
+		}
+
+		@Override
+		public int room(int id) {
+			return cars[id].getMaxCapacity() - cars[id].getCapacity();
+		}
+
+		@Override
+		public boolean accepts(int id, HallCall call) {
+			return exists(id) && serves(id, call.floor) && serves(id, call.destination) && room(id) >= call.persons;
+		}
+
+		@Override
+		public double powerConsumed(int id) {
+			return cars[id].getPowerConsumed();
+		}
+
+		@Override
+		public long time() {
+			return clock.currentTimeMillis();
+		}
+	}
 }
@@ -0,0 +1,41 @@
+package ElevatorSystem;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import Elevator.Elevator;
+
+/**
+ * kind of threads an {@link ElevatorSystemImp} runs {@link Elevator} movement and dispatch on
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public enum ExecutionMode {
+	/**
+	 * {@link ExecutionMode#PLATFORM} uses a cached pool of platform threads, one per moving {@link Elevator}.</br>
+	 */
+	PLATFORM,
+	/**
+	 * {@link ExecutionMode#VIRTUAL} starts a virtual thread per task, a sleeping {@link Elevator} holds no platform thread.
+	 * needs Java 21 or newer at runtime.</br>
+	 */
+	VIRTUAL;
+
+	/**
+	 * create the {@link ExecutorService} for this mode
+	 * @return new executor
+	 * @throws UnsupportedOperationException - if the running JVM has no virtual threads
+	 */
+	public ExecutorService newExecutor() {
+		if (this == PLATFORM) {
+			return Executors.newCachedThreadPool();
+		}
+		try {
+			// looked up at runtime, the project is still compiled for Java 8
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException e) {
+			throw new UnsupportedOperationException("Virtual threads need Java 21 or newer", e);
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package ElevatorSystem;
+
+import java.util.concurrent.CompletableFuture;
+
+import Elevator.Elevator;
+import Elevator.MovingState;
+
+/**
+ * a call made from a floor, waiting in {@link ElevatorSystemImp} until an {@link Elevator} is assigned.
+ * a call made with {@link ElevatorSystemImp#travel(int, int, int)} knows its riders and their destination,
+ * any other call is made by one person whose destination is not known yet.
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public class HallCall {
+
+	final int floor;
+	final MovingState direction;
+	final long time;
+	final int destination;
+	final int persons;
+	final CompletableFuture<Elevator> future = new CompletableFuture<>();
+	boolean assigned;
+
+	/**
+	 * @param floor - floor the call is made from
+	 * @param direction - {@link MovingState#Up} or {@link MovingState#Down}
+	 * @param time - clock time of the call
+	 */
+	public HallCall(int floor, MovingState direction, long time) {
+		this(floor, direction, time, floor, 1);
+	}
+
+	/**
+	 * @param floor - floor the call is made from
+	 * @param direction - {@link MovingState#Up} or {@link MovingState#Down}
+	 * @param time - clock time of the call
+	 * @param destination - floor the riders travel to
+	 * @param persons - riders boarding together
+	 */
+	public HallCall(int floor, MovingState direction, long time, int destination, int persons) {
+		this.floor = floor;
+		this.direction = direction;
+		this.time = time;
+		this.destination = destination;
+		this.persons = persons;
+	}
+
+	/**
+	 * @return floor the call is made from
+	 */
+	public int getFloor() {
+		return floor;
+	}
+
+	/**
+	 * @return {@link MovingState#Up} or {@link MovingState#Down}
+	 */
+	public MovingState getDirection() {
+		return direction;
+	}
+
+	/**
+	 * @return clock time at which the call was made, in milliseconds
+	 */
+	public long getTime() {
+		return time;
+	}
+
+	/**
+	 * @return floor the riders travel to, same as {@link #getFloor()} if not known
+	 */
+	public int getDestination() {
+		return destination;
+	}
+
+	/**
+	 * @return persons that board together, 1 if the riders are not known
+	 */
+	public int getPersons() {
+		return persons;
+	}
+
+	/**
+	 * @return true if the riders and their destination are known
+	 */
+	boolean rides() {
+		return destination != floor;
+	}
+}
@@ -0,0 +1,57 @@
+package ElevatorSystem;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+import Metrics.FlightEvents;
+
+/**
+ * flight recorder event for the time the request lock of {@link ElevatorSystemImp} is held. waiting
+ * for the lock is already recorded by the JVM as jdk.JavaMonitorEnter.
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+@Name("ElevatorEmulator.RequestLock")
+@Label("Request Lock Held")
+@Category({ "Elevator Emulator", "Dispatch" })
+@Description("Time the request lock of an elevator system was held")
+@Threshold("1 ms")
+class LockEvent extends Event {
+
+	@Label("Site")
+	@Description("Operation holding the lock")
+	String site;
+
+	LockEvent(String site) {
+		this.site = site;
+	}
+
+	/**
+	 * start timing a lock hold
+	 * @param site - operation holding the lock
+	 * @return started event, null if no running recording has this event enabled
+	 */
+	static LockEvent hold(String site) {
+		if (!FlightEvents.enabled(LockEvent.class)) {
+			return null;
+		}
+		LockEvent held = new LockEvent(site);
+		held.begin();
+		return held;
+	}
+
+	/**
+	 * commit an event started by {@link #hold(String)}
+	 * @param held - started event, may be null
+	 */
+	static void release(LockEvent held) {
+		if (held != null) {
+			held.commit();
+		}
+	}
+}
@@ -0,0 +1,21 @@
+package ElevatorSystem;
+
+import Elevator.Elevator;
+
+/**
+ * order in which an {@link Elevator} serves its pending stops
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public enum RoutingMode {
+	/**
+	 * {@link RoutingMode#FIFO} serves stops in the order they were requested.</br>
+	 */
+	FIFO,
+	/**
+	 * {@link RoutingMode#LOOK} is collective control, the elevator keeps its direction and stops at every
+	 * pending floor on the way, it only turns around when there is nothing left ahead of it.</br>
+	 */
+	LOOK;
+}
@@ -0,0 +1,96 @@
+package ElevatorSystem;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * <p>
+ * state of an {@link ElevatorSystemImp} at one clock time, taken with {@link ElevatorSystemImp#snapshot()}
+ * and rebuilt with {@link ElevatorSystemImp#restore(Snapshot, Simulator.SimulationClock)} as often as needed.
+ * a snapshot is immutable, one mid-peak snapshot can fork any number of runs.
+ * </p>
+ * <p>
+ * stream layout, big-endian: int magic "ELSS", short version, int body length, body. the body starts
+ * with the long clock time, followed by the floors, routing, call direction, every car with its stops
+ * and riders and the queued hall calls. a reader refuses a version it does not know.
+ * </p>
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public class Snapshot {
+
+	public static final int MAGIC = 0x454C5353;
+	public static final short VERSION = 1;
+
+	private final byte[] body;
+	private final long time;
+
+	/**
+	 * @param body - state written by {@link ElevatorSystemImp#snapshot()}
+	 */
+	Snapshot(byte[] body) {
+		this.body = body;
+		time = ByteBuffer.wrap(body).getLong(0);
+	}
+
+	/**
+	 * read a snapshot written by {@link #write(OutputStream)}
+	 * @param in - stream positioned at the snapshot, left after it
+	 * @return snapshot
+	 * @throws IOException - if the stream holds no snapshot or one of another version
+	 */
+	public static Snapshot read(InputStream in) throws IOException {
+		DataInputStream data = new DataInputStream(in);
+		if (data.readInt() != MAGIC) {
+			throw new IOException("Not a snapshot");
+		}
+		short version = data.readShort();
+		if (version != VERSION) {
+			throw new IOException("Unsupported snapshot version " + version);
+		}
+		int length = data.readInt();
+		if (length < Long.BYTES) {
+			throw new IOException("Invalid snapshot length " + length);
+		}
+		byte[] body = new byte[length];
+		data.readFully(body);
+		return new Snapshot(body);
+	}
+
+	/**
+	 * write this snapshot, the stream is not closed
+	 * @param out - stream to write to
+	 * @throws IOException - if the stream fails
+	 */
+	public void write(OutputStream out) throws IOException {
+		DataOutputStream data = new DataOutputStream(out);
+		data.writeInt(MAGIC);
+		data.writeShort(VERSION);
+		data.writeInt(body.length);
+		data.write(body);
+		data.flush();
+	}
+
+	/**
+	 * @return clock time the snapshot was taken at, in milliseconds
+	 */
+	public long getTime() {
+		return time;
+	}
+
+	/**
+	 * @return bytes written by {@link #write(OutputStream)}
+	 */
+	public int getSize() {
+		return Integer.BYTES + Short.BYTES + Integer.BYTES + body.length;
+	}
+
+	byte[] body() {
+		return body;
+	}
+}
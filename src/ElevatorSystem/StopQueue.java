@@ -0,0 +1,218 @@
+package ElevatorSystem;
+
+import java.util.NoSuchElementException;
+
+import Elevator.Elevator;
+
+/**
+ * <p>
+ * pending stops of one {@link Elevator}. every floor is stored at most once. floors are kept in a
+ * bitset to answer which stop is next above or below a floor, and in an array based linked list
+ * to keep the order in which they were requested. nothing is boxed and nothing is allocated after
+ * construction.
+ * </p>
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public class StopQueue {
+
+	/**
+	 * returned by {@link #nextAbove(int)} and {@link #nextBelow(int)} when there is no such stop
+	 */
+	public static final int NONE = Integer.MIN_VALUE;
+
+	private static final int NIL = -1;
+
+	private final int minFloor;
+	private final int maxFloor;
+	private final long[] bits;
+	private final int[] next;
+	private final int[] prev;
+	private int head = NIL;
+	private int tail = NIL;
+	private int size;
+
+	/**
+	 * @param minFloor - lowest floor that can be stored
+	 * @param maxFloor - highest floor that can be stored
+	 */
+	public StopQueue(int minFloor, int maxFloor) {
+		if (maxFloor < minFloor) {
+			throw new IllegalArgumentException("The max floor cannot be below the min floor");
+		}
+		int count = maxFloor - minFloor + 1;
+		this.minFloor = minFloor;
+		this.maxFloor = maxFloor;
+		bits = new long[(count + 63) >>> 6];
+		next = new int[count];
+		prev = new int[count];
+	}
+
+	/**
+	 * add a stop at the end of the queue, a floor already pending keeps its place
+	 * @param floor - floor to stop at
+	 * @return true if the floor was not pending before
+	 */
+	public boolean add(int floor) {
+		int i = index(floor);
+		if (has(i)) {
+			return false;
+		}
+		bits[i >>> 6] |= 1L << i;
+		prev[i] = tail;
+		next[i] = NIL;
+		if (tail == NIL) {
+			head = i;
+		} else {
+			next[tail] = i;
+		}
+		tail = i;
+		size++;
+		return true;
+	}
+
+	/**
+	 * remove a pending stop wherever it is in the queue
+	 * @param floor - floor to remove
+	 * @return true if the floor was pending
+	 */
+	public boolean remove(int floor) {
+		int i = index(floor);
+		if (!has(i)) {
+			return false;
+		}
+		bits[i >>> 6] &= ~(1L << i);
+		if (prev[i] == NIL) {
+			head = next[i];
+		} else {
+			next[prev[i]] = next[i];
+		}
+		if (next[i] == NIL) {
+			tail = prev[i];
+		} else {
+			prev[next[i]] = prev[i];
+		}
+		size--;
+		return true;
+	}
+
+	/**
+	 * @param floor - floor to check
+	 * @return true if floor is pending, floors outside of the range are never pending
+	 */
+	public boolean contains(int floor) {
+		return floor >= minFloor && floor <= maxFloor && has(floor - minFloor);
+	}
+
+	/**
+	 * oldest pending stop
+	 * @return floor
+	 * @throws NoSuchElementException - if there are no stops
+	 */
+	public int peek() {
+		if (head == NIL) {
+			throw new NoSuchElementException();
+		}
+		return head + minFloor;
+	}
+
+	/**
+	 * remove and return the oldest pending stop
+	 * @return floor
+	 * @throws NoSuchElementException - if there are no stops
+	 */
+	public int poll() {
+		int floor = peek();
+		remove(floor);
+		return floor;
+	}
+
+	/**
+	 * closest pending stop strictly above floor
+	 * @param floor - floor to search from
+	 * @return closest floor above or {@link #NONE}
+	 */
+	public int nextAbove(int floor) {
+		if (floor >= maxFloor) {
+			return NONE;
+		}
+		int i = Math.max(floor + 1 - minFloor, 0);
+		int w = i >>> 6;
+		long word = bits[w] & (-1L << i);
+		while (word == 0) {
+			if (++w == bits.length) {
+				return NONE;
+			}
+			word = bits[w];
+		}
+		return (w << 6) + Long.numberOfTrailingZeros(word) + minFloor;
+	}
+
+	/**
+	 * closest pending stop strictly below floor
+	 * @param floor - floor to search from
+	 * @return closest floor below or {@link #NONE}
+	 */
+	public int nextBelow(int floor) {
+		if (floor <= minFloor) {
+			return NONE;
+		}
+		int i = Math.min(floor - 1 - minFloor, maxFloor - minFloor);
+		int w = i >>> 6;
+		long word = bits[w] & (-1L >>> (63 - (i & 63)));
+		while (word == 0) {
+			if (--w < 0) {
+				return NONE;
+			}
+			word = bits[w];
+		}
+		return (w << 6) + 63 - Long.numberOfLeadingZeros(word) + minFloor;
+	}
+
+	/**
+	 * @return number of pending stops
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return true if there are no pending stops
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * remove all pending stops
+	 */
+	public void clear() {
+		while (head != NIL) {
+			remove(head + minFloor);
+		}
+	}
+
+	/**
+	 * copy of pending stops in the order they are queued
+	 * @return floors
+	 */
+	public int[] toArray() {
+		int[] floors = new int[size];
+		for (int i = head, j = 0; i != NIL; i = next[i], j++) {
+			floors[j] = i + minFloor;
+		}
+		return floors;
+	}
+
+	private boolean has(int i) {
+		return (bits[i >>> 6] & (1L << i)) != 0;
+	}
+
+	private int index(int floor) {
+		if (floor < minFloor || floor > maxFloor) {
+			throw new IllegalArgumentException("The floor should be " + minFloor + "-" + maxFloor);
+		}
+		return floor - minFloor;
+	}
+}
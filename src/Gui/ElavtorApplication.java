@@ -1,75 +1,70 @@
 package Gui;
 
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Observable;
-import java.util.Observer;
-import java.util.Queue;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
+import Elevator.ElevatorListener;
+import Elevator.MovingState;
+import Simulator.PlaybackClock;
 import Simulator.Simulator;
 import javafx.animation.AnimationTimer;
 import javafx.application.Application;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.geometry.Rectangle2D;
 import javafx.scene.Scene;
+import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.ScrollPane;
 import javafx.scene.control.TextField;
+import javafx.scene.control.ToggleButton;
+import javafx.scene.control.ToggleGroup;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
-import javafx.scene.layout.GridPane;
+import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
-import javafx.scene.layout.VBox;
+import javafx.stage.Screen;
 import javafx.stage.Stage;
 
 /**
- * An application simulates elevators' movement.
+ * An application simulates elevators' movement. the building is read from the named parameters
+ * --cars, --minFloor and --maxFloor, 4 cars on floors 0-20 by default. the simulation runs on a
+ * {@link PlaybackClock} that the toolbar pauses, speeds up and skips ahead.
  * 
  * @author Chenxiao Cui
  * @version March 26, 2018
  */
-public class ElavtorApplication extends Application implements Observer {
+public class ElavtorApplication extends Application implements ElevatorListener {
+	private static final double[] SPEEDS = { 1, 10, 100 };
+	private static final int TOOLBAR_HEIGHT = 40;
 	private ElevatorAnime ea;
-	private Simulator simulator = new Simulator(this);
-	private int FLOOR_COUNT = 21;
-	private int ELEVATOR_COUNT = 4;
-	private int[] targetFloor = new int[ELEVATOR_COUNT];
-	private int[] currentFloor = new int[ELEVATOR_COUNT];
-	private double[] powerUsed = new double[ELEVATOR_COUNT];
-	private TextField[] id = new TextField[ELEVATOR_COUNT];
-	private TextField[] cFloor = new TextField[ELEVATOR_COUNT];
-	private TextField[] tFloor = new TextField[ELEVATOR_COUNT];
-	private TextField[] tEnergy = new TextField[ELEVATOR_COUNT];
-	
-	Label floors[][] = new Label[ELEVATOR_COUNT][FLOOR_COUNT];
+	private Simulator simulator;
+	private PlaybackClock clock = new PlaybackClock();
+	private int ELEVATOR_COUNT;
+	private FleetCanvas canvas;
+	private Label time = new Label();
 
 	/**
-	 * Create floor labels as elevator GUI
+	 * Create the simulator sized from the parameters
 	 */
 	@Override
 	public void init() throws Exception {
 		super.init();
-		
-		for (int i = 0; i < ELEVATOR_COUNT; i++) {
-			for (int j = 0; j < FLOOR_COUNT; j++) {
-				floors[i][j] = new Label();
-				floors[i][j].setId("empty");
-			}
-			floors[i][0].setId("elevator");
-		}
-		
+		Map<String, String> named = getParameters().getNamed();
+		simulator = new Simulator(this, Integer.parseInt(named.getOrDefault("minFloor", "0")),
+				Integer.parseInt(named.getOrDefault("maxFloor", "20")), Integer.parseInt(named.getOrDefault("cars", "4")), clock);
+		ELEVATOR_COUNT = simulator.getElevatorCount();
 		ea = new ElevatorAnime();
 	}
 
 	/**
-	 * Receive List<Number> transfered from notifyOberserver()
+	 * Receive each step of an elevator
 	 * 
-	 * @param Observable ElevatorImp, Object List<Number>
+	 * @param id, floor, target, power, state
 	 */
 	@Override
-	public void update(Observable observable, Object obj) {
-		if (obj == null) {
-			throw new NullPointerException("the obj should not be null");
-		}
-		List<Number> pair = (List<Number>) obj;
-		ea.addPair(pair);
+	public void onStep(int id, int floor, int target, int power, MovingState state) {
+		ea.addStep(id, floor, target, power);
 	}
 
 	/**
@@ -79,71 +74,17 @@ public class ElavtorApplication extends Application implements Observer {
 	 */
 	@Override
 	public void start(Stage stage) throws Exception {
-		GridPane elevator1 = new GridPane();
-		GridPane elevator2 = new GridPane();
-		GridPane elevator3 = new GridPane();
-		GridPane elevator4 = new GridPane();
-		for (int i = FLOOR_COUNT-1; i >=0; i--) {
-			elevator1.add(floors[0][i], 1, (FLOOR_COUNT-1)-i);
-			elevator2.add(floors[1][i], 1, (FLOOR_COUNT-1)-i);
-			elevator3.add(floors[2][i], 1, (FLOOR_COUNT-1)-i);
-			elevator4.add(floors[3][i], 1, (FLOOR_COUNT-1)-i);
-		}
-		
-		for(int i=0;i<ELEVATOR_COUNT;i++){
-			id[i] = new TextField(Integer.toString(i));		
-			cFloor[i] = new TextField();
-			tFloor[i] = new TextField();
-			tEnergy[i] = new TextField();
-		}
-
-		VBox vbox1 = new VBox();
-		Label idTitle1 = new Label("ID");
-		Label totalEnergyTitle1 = new Label("Total Energy Consumed");
-		Label currentFloorTitle1 = new Label("Current Floor");
-		Label targetFloorTitle1 = new Label("Target Floor");
-
-		VBox vbox2 = new VBox();
-		Label idTitle2 = new Label("ID");
-		Label totalEnergyTitle2 = new Label("Total Energy Consumed");
-		Label currentFloorTitle2 = new Label("Current Floor");
-		Label targetFloorTitle2 = new Label("Target Floor");
-		
-		VBox vbox3 = new VBox();
-		Label idTitle3 = new Label("ID");
-		Label totalEnergyTitle3 = new Label("Total Energy Consumed");
-		Label currentFloorTitle3 = new Label("Current Floor");
-		Label targetFloorTitle3 = new Label("Target Floor");
-		
-		VBox vbox4 = new VBox();
-		Label idTitle4 = new Label("ID");
-		Label totalEnergyTitle4 = new Label("Total Energy Consumed");
-		Label currentFloorTitle4 = new Label("Current Floor");
-		Label targetFloorTitle4 = new Label("Target Floor");
-
-		
-		vbox1.getChildren().addAll(idTitle1,id[0],targetFloorTitle1, tFloor[0], currentFloorTitle1, cFloor[0], totalEnergyTitle1, tEnergy[0]);
-		vbox2.getChildren().addAll(idTitle2,id[1],targetFloorTitle2, tFloor[1], currentFloorTitle2, cFloor[1], totalEnergyTitle2, tEnergy[1]);
-		vbox3.getChildren().addAll(idTitle3,id[2],targetFloorTitle3, tFloor[2], currentFloorTitle3, cFloor[2], totalEnergyTitle3, tEnergy[2]);
-		vbox4.getChildren().addAll(idTitle4,id[3],targetFloorTitle4, tFloor[3], currentFloorTitle4, cFloor[3], totalEnergyTitle4, tEnergy[3]);
-
-		HBox hbox1 = new HBox();
-		hbox1.getChildren().addAll(elevator1, vbox1);
-		
-		HBox hbox2 = new HBox();
-		hbox2.getChildren().addAll(elevator2, vbox2);
-		
-		HBox hbox3 = new HBox();
-		hbox3.getChildren().addAll(elevator3, vbox3);
-		
-		HBox hbox4 = new HBox();
-		hbox4.getChildren().addAll(elevator4, vbox4);
-
-		HBox hbox_root = new HBox();
-		hbox_root.getChildren().addAll(hbox1, hbox2, hbox3, hbox4);
-		
-		Scene scene = new Scene(hbox_root);
-		scene.getStylesheets().add(ElavtorApplication.class.getResource("elevator.css").toExternalForm());
+		Rectangle2D screen = Screen.getPrimary().getVisualBounds();
+		canvas = FleetCanvas.fit(ELEVATOR_COUNT, simulator.getMinFloor(), simulator.getFloorCount(), screen.getWidth(),
+				screen.getHeight() - TOOLBAR_HEIGHT);
+		// the canvas keeps its minimum cell size and scrolls when the building does not fit
+		ScrollPane fleet = new ScrollPane(canvas);
+		fleet.setPrefViewportWidth(Math.min(canvas.getWidth(), screen.getWidth()));
+		fleet.setPrefViewportHeight(Math.min(canvas.getHeight(), screen.getHeight() - TOOLBAR_HEIGHT));
+
+		BorderPane root = new BorderPane(fleet);
+		root.setTop(controls());
+		Scene scene = new Scene(root);
 		scene.addEventHandler(KeyEvent.KEY_PRESSED, (KeyEvent event) -> {
 			if (event.getCode() == KeyCode.ESCAPE) {
 				ea.stop();
@@ -154,10 +95,88 @@ public class ElavtorApplication extends Application implements Observer {
 		stage.setScene(scene);
 		stage.setTitle("Elevator");
 		stage.show();
+		clock.start();
 		ea.start();
 		simulator.start();
 	}
 
+	/**
+	 * pause, speed and skip controls of the {@link PlaybackClock}
+	 * @return toolbar
+	 */
+	private HBox controls() {
+		ToggleButton pause = new ToggleButton("Pause");
+		pause.setOnAction(event -> {
+			if (pause.isSelected()) {
+				clock.pause();
+			} else {
+				clock.resume();
+			}
+		});
+
+		ToggleGroup speeds = new ToggleGroup();
+		HBox toolbar = new HBox(6, pause);
+		for (double speed : SPEEDS) {
+			ToggleButton button = new ToggleButton((int) speed + "x");
+			button.setToggleGroup(speeds);
+			button.setSelected(speed == clock.getSpeed());
+			button.setOnAction(event -> {
+				clock.setSpeed(speed);
+				// a speed stays selected
+				button.setSelected(true);
+			});
+			toolbar.getChildren().add(button);
+		}
+
+		TextField skip = new TextField();
+		skip.setPromptText("hh:mm:ss");
+		skip.setPrefColumnCount(8);
+		Button go = new Button("Skip");
+		go.setOnAction(event -> {
+			try {
+				clock.skipTo(parseTime(skip.getText()));
+				pause.setSelected(false);
+				skip.setStyle(null);
+			} catch (IllegalArgumentException e) {
+				skip.setStyle("-fx-border-color: red;");
+			}
+		});
+		skip.setOnAction(go.getOnAction());
+
+		toolbar.getChildren().addAll(new Label("Skip to"), skip, go, time);
+		toolbar.setAlignment(Pos.CENTER_LEFT);
+		toolbar.setPadding(new Insets(6));
+		return toolbar;
+	}
+
+	/**
+	 * @param text - seconds, mm:ss or hh:mm:ss
+	 * @return time in milliseconds
+	 */
+	static long parseTime(String text) {
+		String[] parts = text.trim().split(":");
+		if (parts.length > 3) {
+			throw new IllegalArgumentException("The time should be hh:mm:ss");
+		}
+		long seconds = 0;
+		for (String part : parts) {
+			long value = Long.parseLong(part.trim());
+			if (value < 0) {
+				throw new IllegalArgumentException("The time cannot be negative");
+			}
+			seconds = seconds * 60 + value;
+		}
+		return seconds * 1000;
+	}
+
+	/**
+	 * @param millis - time in milliseconds
+	 * @return hh:mm:ss.s
+	 */
+	static String formatTime(long millis) {
+		return String.format("%02d:%02d:%04.1f", millis / 3600000, millis / 60000 % 60, millis % 60000 / 1000.0);
+	}
+
 	/**
 	 * Extends AnimationTimer, add a new method;
 	 * 
@@ -166,45 +185,48 @@ public class ElavtorApplication extends Application implements Observer {
 	 */
 	public class ElevatorAnime extends AnimationTimer {
 
-		private int step;
-		private Queue<List<Number>> queue = new LinkedList<>();
-
-		public void addPair(List<Number> pair) {
-			
-			if (pair == null) {
-				throw new NullPointerException("the pair should not be null");
+		private static final int FIELDS = 3;
+		// latest floor, target and power of each elevator, steps between frames overwrite each other
+		private final AtomicIntegerArray latest = new AtomicIntegerArray(ELEVATOR_COUNT * FIELDS);
+
+		public ElevatorAnime() {
+			// elevators start on the floor closest to floor 0
+			int minFloor = simulator.getMinFloor();
+			int start = Math.max(minFloor, Math.min(minFloor + simulator.getFloorCount() - 1, 0));
+			for (int _id = 0; _id < ELEVATOR_COUNT; _id++) {
+				latest.set(_id * FIELDS, start);
+				latest.set(_id * FIELDS + 1, start);
 			}
-				
-				queue.add(pair);
 		}
-			
 
+		/**
+		 * called from elevator threads, never blocks
+		 */
+		public void addStep(int id, int floor, int target, int power) {
+			int i = id * FIELDS;
+			latest.lazySet(i, floor);
+			latest.lazySet(i + 1, target);
+			latest.lazySet(i + 2, power);
+		}
+
+		/**
+		 * sample the latest state of every elevator once per frame, the canvas repaints only
+		 * the elevators that changed since the last frame
+		 */
 		@Override
 		public void handle(long now) {
-			if (queue.isEmpty()) {
-				return;
+			for (int _id = 0; _id < ELEVATOR_COUNT; _id++) {
+				int i = _id * FIELDS;
+				canvas.update(_id, latest.get(i), latest.get(i + 1), latest.get(i + 2));
 			}
-			
-			List<Number> pair = queue.poll();
-			int _id = pair.get(0).intValue();
-			
-			floors[_id][currentFloor[_id]].setId("empty");
-			currentFloor[_id] = pair.get(1).intValue();
-			targetFloor[_id] = pair.get(2).intValue();
-			powerUsed[_id] = pair.get(3).doubleValue();
-			floors[_id][targetFloor[_id]].setId("target");
-			floors[_id][currentFloor[_id]].setId("elevator");
-			
-			cFloor[_id].setText(String.valueOf(currentFloor[_id]));
-			tFloor[_id].setText(String.valueOf(targetFloor[_id]));
-			tEnergy[_id].setText(String.valueOf(powerUsed[_id]));
-			
+			time.setText(formatTime(clock.currentTimeMillis()) + (clock.isSkipping() ? " skipping" : ""));
 		}
 	};
 
 	@Override
 	public void stop() throws Exception {
 		super.stop();
+		clock.close();
 		simulator.shutdown();
 	}
 
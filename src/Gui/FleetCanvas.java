@@ -0,0 +1,172 @@
+package Gui;
+
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+/**
+ * <p>
+ * draws a whole fleet on one {@link Canvas}, a column per elevator and a row per floor with a
+ * header of id, floor, target and power above each column. there is no node per floor, so
+ * 64 elevators on 120 floors cost the scene graph one node.
+ * </p>
+ * <p>
+ * {@link #update(int, int, int, int)} repaints only the dirty region of an elevator, the cells
+ * it left and entered and its header, the rest of the canvas keeps its pixels.
+ * </p>
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public class FleetCanvas extends Canvas {
+
+	public static final double HEADER_HEIGHT = 42;
+	public static final double MIN_CELL_WIDTH = 24;
+	public static final double MAX_CELL_WIDTH = 120;
+	public static final double MIN_CELL_HEIGHT = 2;
+	public static final double MAX_CELL_HEIGHT = 28;
+
+	private static final Color EMPTY = Color.GOLDENROD;
+	private static final Color ELEVATOR = Color.LIGHTGRAY;
+	private static final Color TARGET = Color.YELLOW;
+	private static final Color BORDER = Color.BLACK;
+	private static final Color BACKGROUND = Color.WHITE;
+	// below this height a border would cover the whole cell
+	private static final double BORDER_MIN_HEIGHT = 6;
+
+	private final GraphicsContext gc = getGraphicsContext2D();
+	private final int minFloor;
+	private final int floorCount;
+	private final double cellWidth;
+	private final double cellHeight;
+	private final int[] floor;
+	private final int[] target;
+	private final int[] power;
+
+	/**
+	 * canvas with cells as large as fit in width and height, within the min and max cell sizes
+	 * @param elevatorCount - number of columns
+	 * @param minFloor - floor of the bottom row
+	 * @param floorCount - number of rows
+	 * @param width - space available for the columns
+	 * @param height - space available for the header and rows
+	 * @return new canvas
+	 */
+	public static FleetCanvas fit(int elevatorCount, int minFloor, int floorCount, double width, double height) {
+		return new FleetCanvas(elevatorCount, minFloor, floorCount, clamp(width / Math.max(1, elevatorCount), MIN_CELL_WIDTH, MAX_CELL_WIDTH),
+				clamp((height - HEADER_HEIGHT) / Math.max(1, floorCount), MIN_CELL_HEIGHT, MAX_CELL_HEIGHT));
+	}
+
+	/**
+	 * @param elevatorCount - number of columns
+	 * @param minFloor - floor of the bottom row
+	 * @param floorCount - number of rows
+	 * @param cellWidth - width of a column
+	 * @param cellHeight - height of a row
+	 */
+	public FleetCanvas(int elevatorCount, int minFloor, int floorCount, double cellWidth, double cellHeight) {
+		super(Math.ceil(elevatorCount * cellWidth), Math.ceil(HEADER_HEIGHT + floorCount * cellHeight));
+		if (elevatorCount < 1 || floorCount < 1) {
+			throw new IllegalArgumentException("The fleet needs an elevator and a floor");
+		}
+		this.minFloor = minFloor;
+		this.floorCount = floorCount;
+		this.cellWidth = cellWidth;
+		this.cellHeight = cellHeight;
+		floor = new int[elevatorCount];
+		target = new int[elevatorCount];
+		power = new int[elevatorCount];
+		// elevators start on the floor closest to floor 0
+		int start = Math.max(minFloor, Math.min(minFloor + floorCount - 1, 0));
+		for (int id = 0; id < elevatorCount; id++) {
+			floor[id] = start;
+			target[id] = start;
+		}
+		gc.setFont(Font.font(10));
+		gc.setTextAlign(TextAlignment.CENTER);
+		gc.setTextBaseline(VPos.TOP);
+		gc.setLineWidth(1);
+		drawAll();
+	}
+
+	private static double clamp(double value, double min, double max) {
+		return Math.max(min, Math.min(max, value));
+	}
+
+	/**
+	 * repaint the whole canvas
+	 */
+	public void drawAll() {
+		gc.setFill(BACKGROUND);
+		gc.fillRect(0, 0, getWidth(), getHeight());
+		for (int id = 0; id < floor.length; id++) {
+			for (int f = minFloor; f < minFloor + floorCount; f++) {
+				drawCell(id, f, EMPTY);
+			}
+			drawCell(id, target[id], TARGET);
+			drawCell(id, floor[id], ELEVATOR);
+			drawHeader(id);
+		}
+	}
+
+	/**
+	 * move an elevator, only its old and new cells and its header are repainted, nothing if it
+	 * has not changed since the last update
+	 * @param id - elevator id
+	 * @param floor - current floor
+	 * @param target - floor it is moving to
+	 * @param power - total power used
+	 */
+	public void update(int id, int floor, int target, int power) {
+		if (this.floor[id] == floor && this.target[id] == target && this.power[id] == power) {
+			return;
+		}
+		drawCell(id, this.floor[id], EMPTY);
+		drawCell(id, this.target[id], EMPTY);
+		this.floor[id] = floor;
+		this.target[id] = target;
+		this.power[id] = power;
+		drawCell(id, target, TARGET);
+		drawCell(id, floor, ELEVATOR);
+		drawHeader(id);
+	}
+
+	private void drawCell(int id, int floor, Color color) {
+		int row = floor - minFloor;
+		if (row < 0 || row >= floorCount) {
+			return;
+		}
+		double x = id * cellWidth;
+		double y = HEADER_HEIGHT + (floorCount - 1 - row) * cellHeight;
+		gc.setFill(color);
+		gc.fillRect(x, y, cellWidth, cellHeight);
+		gc.setStroke(BORDER);
+		if (cellHeight >= BORDER_MIN_HEIGHT) {
+			gc.strokeRect(x + 0.5, y + 0.5, cellWidth - 1, cellHeight - 1);
+		} else {
+			gc.strokeLine(x + 0.5, y, x + 0.5, y + cellHeight);
+		}
+	}
+
+	private void drawHeader(int id) {
+		double x = id * cellWidth;
+		double center = x + cellWidth / 2;
+		double text = cellWidth - 2;
+		gc.setFill(BACKGROUND);
+		gc.fillRect(x, 0, cellWidth, HEADER_HEIGHT);
+		gc.setFill(BORDER);
+		gc.fillText(Integer.toString(id), center, 1, text);
+		gc.fillText(floor[id] + ">" + target[id], center, 14, text);
+		gc.fillText(Integer.toString(power[id]), center, 27, text);
+	}
+
+	/**
+	 * @return number of columns
+	 */
+	public int getElevatorCount() {
+		return floor.length;
+	}
+}
@@ -0,0 +1,80 @@
+package Journal;
+
+import Elevator.MovingState;
+
+/**
+ * one assignment of an elevator to a hall call made during a {@link Replay}
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public class Decision {
+
+	private final long index;
+	private final long time;
+	private final int id;
+	private final int floor;
+	private final MovingState direction;
+
+	public Decision(long index, long time, int id, int floor, MovingState direction) {
+		this.index = index;
+		this.time = time;
+		this.id = id;
+		this.floor = floor;
+		this.direction = direction;
+	}
+
+	/**
+	 * @return position of the decision in the run, counting from 0
+	 */
+	public long getIndex() {
+		return index;
+	}
+
+	public long getTime() {
+		return time;
+	}
+
+	public int getId() {
+		return id;
+	}
+
+	public int getFloor() {
+		return floor;
+	}
+
+	public MovingState getDirection() {
+		return direction;
+	}
+
+	/**
+	 * @return hash of the decision, {@link Replay} chains them into the fingerprint of a run
+	 */
+	long hash() {
+		long h = time;
+		h = h * 31 + id;
+		h = h * 31 + floor;
+		h = h * 31 + direction.ordinal();
+		return h;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (!(obj instanceof Decision)) {
+			return false;
+		}
+		Decision other = (Decision) obj;
+		return index == other.index && time == other.time && id == other.id && floor == other.floor
+				&& direction == other.direction;
+	}
+
+	@Override
+	public int hashCode() {
+		return (int) (hash() ^ hash() >>> 32);
+	}
+
+	@Override
+	public String toString() {
+		return "#" + index + " at " + time + " ms: elevator " + id + " to floor " + floor + " " + direction;
+	}
+}
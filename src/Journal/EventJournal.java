@@ -0,0 +1,275 @@
+package Journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+import Elevator.Elevator;
+import Elevator.ElevatorImp;
+import Elevator.ElevatorListener;
+import Elevator.MovingState;
+import ElevatorSystem.DispatchListener;
+import ElevatorSystem.ElevatorSystemImp;
+import Simulator.SimulationClock;
+
+/**
+ * <p>
+ * append-only binary journal of every step, hall call, assignment and stop request of an
+ * {@link ElevatorSystemImp}. records have a fixed width of {@link #RECORD_SIZE} bytes and are
+ * written straight into memory-mapped segment files of a directory, journal-000000.bin,
+ * journal-000001.bin and so on. the operating system writes the pages back, so the journal
+ * survives a crash of the process but not of the machine.
+ * </p>
+ * <p>
+ * writers claim their record with one atomic increment and write it without locking, only the
+ * writer reaching a new segment maps it. records are in claim order, which for events of one
+ * elevator is the order they happened. a journal that cannot map a segment stops recording
+ * instead of failing the elevators, {@link #close()} reports the error.
+ * </p>
+ * <p>
+ * record layout, little-endian:
+ * </p>
+ * <pre>
+ *  0 long time      clock milliseconds
+ *  8 int  id        elevator, -1 for a hall call
+ * 12 int  floor
+ * 16 int  target    STEP floor moving to, HALL_CALL destination, ELEVATOR max floor, -1 otherwise
+ * 20 int  power     -1 unless STEP
+ * 24 int  riders    HALL_CALL and ALIGHT riders, ELEVATOR max capacity, -1 otherwise
+ * 28 byte type      {@link EventType} ordinal + 1, 0 for a record never written
+ * 29 byte state     {@link MovingState} ordinal + 1, 0 for none
+ * 30 short reserved
+ * </pre>
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public class EventJournal implements ElevatorListener, DispatchListener, Closeable {
+
+	public static final int RECORD_SIZE = 32;
+	public static final int DEFAULT_SEGMENT_RECORDS = 1 << 20;
+
+	static final int TIME = 0;
+	static final int ID = 8;
+	static final int FLOOR = 12;
+	static final int TARGET = 16;
+	static final int POWER = 20;
+	static final int RIDERS = 24;
+	static final int TYPE = 28;
+	static final int STATE = 29;
+
+	private final Path directory;
+	private final SimulationClock clock;
+	private final int segmentRecords;
+	private final AtomicLong next = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+	private volatile Segment current;
+	private volatile boolean closed;
+	private volatile IOException failure;
+
+	/**
+	 * @param directory - directory for the segment files, created if missing
+	 * @param clock - {@link SimulationClock} of the system, timestamps every record
+	 * @throws IOException - if the directory already holds a journal or the first segment cannot be mapped
+	 */
+	public EventJournal(Path directory, SimulationClock clock) throws IOException {
+		this(directory, clock, DEFAULT_SEGMENT_RECORDS);
+	}
+
+	/**
+	 * @param directory - directory for the segment files, created if missing
+	 * @param clock - {@link SimulationClock} of the system, timestamps every record
+	 * @param segmentRecords - records per segment file
+	 * @throws IOException - if the directory already holds a journal or the first segment cannot be mapped
+	 */
+	public EventJournal(Path directory, SimulationClock clock, int segmentRecords) throws IOException {
+		if (directory == null || clock == null) {
+			throw new NullPointerException("The directory and clock should not be null");
+		}
+		if (segmentRecords < 1 || segmentRecords > Integer.MAX_VALUE / RECORD_SIZE) {
+			throw new IllegalArgumentException("The segment should hold 1-" + Integer.MAX_VALUE / RECORD_SIZE + " records");
+		}
+		this.directory = directory;
+		this.clock = clock;
+		this.segmentRecords = segmentRecords;
+		Files.createDirectories(directory);
+		Path first = segmentFile(directory, 0);
+		if (Files.exists(first)) {
+			throw new FileAlreadyExistsException(first.toString());
+		}
+		current = map(0);
+	}
+
+	/**
+	 * record the elevators already added to system, every step they make and every decision of system
+	 * @param system - system to record
+	 */
+	public void attach(ElevatorSystemImp system) {
+		for (int id = 0, found = 0; found < system.getElevatorCount(); id++) {
+			Elevator e = system.getElevator(id);
+			if (e != null) {
+				write(EventType.ELEVATOR, id, e.getMinFloor(), e.getMaxFloor(), -1, e.getMaxCapacity(), null);
+				found++;
+			}
+		}
+		system.addListener(this);
+		system.addDispatchListener(this);
+	}
+
+	@Override
+	public void onStep(int id, int floor, int target, int power, MovingState state) {
+		write(EventType.STEP, id, floor, target, power, -1, state);
+	}
+
+	@Override
+	public void onHallCall(int floor, MovingState direction, int destination, int persons) {
+		write(EventType.HALL_CALL, -1, floor, destination, -1, persons, direction);
+	}
+
+	@Override
+	public void onAssign(int id, int floor, MovingState direction) {
+		write(EventType.ASSIGN, id, floor, -1, -1, -1, direction);
+	}
+
+	@Override
+	public void onStop(int id, int floor) {
+		write(EventType.STOP, id, floor, -1, -1, -1, null);
+	}
+
+	@Override
+	public void onAlight(int id, int floor, int persons) {
+		write(EventType.ALIGHT, id, floor, -1, -1, persons, null);
+	}
+
+	/**
+	 * @return number of records claimed so far
+	 */
+	public long getRecords() {
+		return next.get();
+	}
+
+	/**
+	 * @return number of events lost because the journal was closed or could not map a segment
+	 */
+	public long getDropped() {
+		return dropped.get();
+	}
+
+	/**
+	 * stop recording and write the mapped segments back
+	 * @throws IOException - the first error that stopped the journal, if any
+	 */
+	@Override
+	public void close() throws IOException {
+		Segment segment;
+		synchronized (this) {
+			closed = true;
+			segment = current;
+		}
+		segment.buffer.force();
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	private void write(EventType type, int id, int floor, int target, int power, int riders, MovingState state) {
+		if (closed) {
+			dropped.incrementAndGet();
+			return;
+		}
+		long time = clock.currentTimeMillis();
+		long sequence = next.getAndIncrement();
+		long index = sequence / segmentRecords;
+		Segment segment = current;
+		if (segment.index != index) {
+			segment = segment(index);
+			if (segment == null) {
+				dropped.incrementAndGet();
+				return;
+			}
+		}
+		int at = (int) (sequence - index * segmentRecords) * RECORD_SIZE;
+		MappedByteBuffer buffer = segment.buffer;
+		buffer.putLong(at + TIME, time);
+		buffer.putInt(at + ID, id);
+		buffer.putInt(at + FLOOR, floor);
+		buffer.putInt(at + TARGET, target);
+		buffer.putInt(at + POWER, power);
+		buffer.putInt(at + RIDERS, riders);
+		buffer.put(at + STATE, state == null ? 0 : (byte) (state.ordinal() + 1));
+		// the type marks the record as written, it goes last
+		buffer.put(at + TYPE, (byte) (type.ordinal() + 1));
+	}
+
+	/**
+	 * find or map the segment of a record that is not in the current segment
+	 * @param index - segment index
+	 * @return segment, null if the journal is closed or broken
+	 */
+	private synchronized Segment segment(long index) {
+		Segment segment = current;
+		if (segment.index == index) {
+			return segment;
+		}
+		if (segment.previous != null && segment.previous.index == index) {
+			return segment.previous;
+		}
+		if (closed || failure != null) {
+			return null;
+		}
+		try {
+			if (index < segment.index) {
+				// a writer that stalled across two segments, map its segment again
+				return map(index);
+			}
+			Segment next = map(index);
+			next.previous = segment;
+			// keep one segment for writers still finishing in it, older ones are left to the collector
+			segment.previous = null;
+			current = next;
+			return next;
+		} catch (IOException e) {
+			failure = e;
+			return null;
+		}
+	}
+
+	private Segment map(long index) throws IOException {
+		try (FileChannel channel = FileChannel.open(segmentFile(directory, index), StandardOpenOption.CREATE,
+				StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) segmentRecords * RECORD_SIZE);
+			buffer.order(ByteOrder.LITTLE_ENDIAN);
+			return new Segment(index, buffer);
+		}
+	}
+
+	/**
+	 * @param directory - journal directory
+	 * @param index - segment index
+	 * @return path of the segment file
+	 */
+	static Path segmentFile(Path directory, long index) {
+		return directory.resolve(String.format("journal-%06d.bin", index));
+	}
+
+	/**
+	 * one mapped segment file
+	 */
+	private static class Segment {
+		final long index;
+		final MappedByteBuffer buffer;
+		volatile Segment previous;
+
+		Segment(long index, MappedByteBuffer buffer) {
+			this.index = index;
+			this.buffer = buffer;
+		}
+	}
+}
@@ -0,0 +1,37 @@
+package Journal;
+
+import Elevator.ElevatorListener;
+import ElevatorSystem.DispatchListener;
+
+/**
+ * kind of a record in an {@link EventJournal}
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public enum EventType {
+	/**
+	 * {@link EventType#STEP} one floor step, see {@link ElevatorListener#onStep}.</br>
+	 */
+	STEP,
+	/**
+	 * {@link EventType#HALL_CALL} a passenger called for an elevator, see {@link DispatchListener#onHallCall}.</br>
+	 */
+	HALL_CALL,
+	/**
+	 * {@link EventType#ASSIGN} an elevator was sent to a hall call, see {@link DispatchListener#onAssign}.</br>
+	 */
+	ASSIGN,
+	/**
+	 * {@link EventType#STOP} a stop was requested inside an elevator, see {@link DispatchListener#onStop}.</br>
+	 */
+	STOP,
+	/**
+	 * {@link EventType#ALIGHT} riders got off an elevator, see {@link DispatchListener#onAlight}.</br>
+	 */
+	ALIGHT,
+	/**
+	 * {@link EventType#ELEVATOR} an elevator of the recorded building, written by {@link EventJournal#attach}.</br>
+	 */
+	ELEVATOR;
+}
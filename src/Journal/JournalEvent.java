@@ -0,0 +1,81 @@
+package Journal;
+
+import Elevator.MovingState;
+
+/**
+ * <p>
+ * one record of an {@link EventJournal}, filled again by {@link JournalReader#next(JournalEvent)} for every record.
+ * fields that do not apply to the {@link EventType} are -1, or null for the state.
+ * </p>
+ * <table summary="fields per type">
+ * <tr><th>type</th><th>id</th><th>floor</th><th>target</th><th>power</th><th>riders</th><th>state</th></tr>
+ * <tr><td>STEP</td><td>elevator</td><td>floor after the step</td><td>floor moving to</td><td>power so far</td><td>-1</td><td>state after the step</td></tr>
+ * <tr><td>HALL_CALL</td><td>-1</td><td>floor of the call</td><td>destination</td><td>-1</td><td>riders</td><td>direction</td></tr>
+ * <tr><td>ASSIGN</td><td>elevator</td><td>floor of the call</td><td>-1</td><td>-1</td><td>-1</td><td>direction</td></tr>
+ * <tr><td>STOP</td><td>elevator</td><td>requested floor</td><td>-1</td><td>-1</td><td>-1</td><td>null</td></tr>
+ * <tr><td>ALIGHT</td><td>elevator</td><td>floor of the stop</td><td>-1</td><td>-1</td><td>riders off</td><td>null</td></tr>
+ * <tr><td>ELEVATOR</td><td>elevator</td><td>min floor</td><td>max floor</td><td>-1</td><td>max capacity</td><td>null</td></tr>
+ * </table>
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public class JournalEvent {
+
+	long sequence;
+	long time;
+	EventType type;
+	int id;
+	int floor;
+	int target;
+	int power;
+	int riders;
+	MovingState state;
+
+	/**
+	 * @return position of the record in the journal, counting from 0
+	 */
+	public long getSequence() {
+		return sequence;
+	}
+
+	/**
+	 * @return clock time of the event in milliseconds
+	 */
+	public long getTime() {
+		return time;
+	}
+
+	public EventType getType() {
+		return type;
+	}
+
+	public int getId() {
+		return id;
+	}
+
+	public int getFloor() {
+		return floor;
+	}
+
+	public int getTarget() {
+		return target;
+	}
+
+	public int getPower() {
+		return power;
+	}
+
+	public int getRiders() {
+		return riders;
+	}
+
+	public MovingState getState() {
+		return state;
+	}
+
+	@Override
+	public String toString() {
+		return sequence + "," + time + "," + type + "," + id + "," + floor + "," + target + "," + power + "," + riders + "," + state;
+	}
+}
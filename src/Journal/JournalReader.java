@@ -0,0 +1,103 @@
+package Journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import Elevator.MovingState;
+
+/**
+ * <p>
+ * reads the records of an {@link EventJournal} directory in order, one segment mapped at a time.
+ * records that were claimed but never written, for example by a process that died, are skipped.
+ * </p>
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public class JournalReader implements Closeable {
+
+	private static final EventType[] TYPES = EventType.values();
+	private static final MovingState[] STATES = MovingState.values();
+
+	private final Path directory;
+	private long index = -1;
+	private long base;
+	private MappedByteBuffer buffer;
+	private int position;
+
+	/**
+	 * @param directory - directory written by an {@link EventJournal}
+	 * @throws IOException - if the directory holds no journal
+	 */
+	public JournalReader(Path directory) throws IOException {
+		if (!Files.exists(EventJournal.segmentFile(directory, 0))) {
+			throw new IOException("No journal in " + directory);
+		}
+		this.directory = directory;
+	}
+
+	/**
+	 * read the next record
+	 * @param event - filled with the next record
+	 * @return false if there are no more records
+	 * @throws IOException - if a segment cannot be read or holds an invalid record
+	 */
+	public boolean next(JournalEvent event) throws IOException {
+		while (true) {
+			if (buffer == null || position >= buffer.limit()) {
+				if (!nextSegment()) {
+					return false;
+				}
+			}
+			int at = position;
+			position += EventJournal.RECORD_SIZE;
+			int type = buffer.get(at + EventJournal.TYPE);
+			if (type == 0) {
+				continue;
+			}
+			int state = buffer.get(at + EventJournal.STATE);
+			if (type < 0 || type > TYPES.length || state < 0 || state > STATES.length) {
+				throw new IOException("Invalid record " + (base + at / EventJournal.RECORD_SIZE) + " in " + directory);
+			}
+			event.sequence = base + at / EventJournal.RECORD_SIZE;
+			event.time = buffer.getLong(at + EventJournal.TIME);
+			event.type = TYPES[type - 1];
+			event.id = buffer.getInt(at + EventJournal.ID);
+			event.floor = buffer.getInt(at + EventJournal.FLOOR);
+			event.target = buffer.getInt(at + EventJournal.TARGET);
+			event.power = buffer.getInt(at + EventJournal.POWER);
+			event.riders = buffer.getInt(at + EventJournal.RIDERS);
+			event.state = state == 0 ? null : STATES[state - 1];
+			return true;
+		}
+	}
+
+	private boolean nextSegment() throws IOException {
+		Path file = EventJournal.segmentFile(directory, index + 1);
+		if (!Files.exists(file)) {
+			buffer = null;
+			return false;
+		}
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (buffer != null) {
+				base += buffer.limit() / EventJournal.RECORD_SIZE;
+			}
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			buffer.order(ByteOrder.LITTLE_ENDIAN);
+		}
+		index++;
+		position = 0;
+		return true;
+	}
+
+	@Override
+	public void close() {
+		buffer = null;
+	}
+}
@@ -0,0 +1,352 @@
+package Journal;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import Dispatch.DispatchStrategy;
+import Elevator.ElevatorImp;
+import Elevator.MovingState;
+import ElevatorSystem.DispatchListener;
+import ElevatorSystem.ElevatorSystemImp;
+import Simulator.DeterministicClock;
+
+/**
+ * <p>
+ * replays the inputs recorded in an {@link EventJournal}, its hall calls with their riders and stop
+ * requests at their recorded times, against a fresh building under a {@link DeterministicClock}. the
+ * elevators get the capacity recorded by {@link EventJournal#attach}, {@link #DEFAULT_CAPACITY} if the
+ * journal has no record of them. the same
+ * journal, building and {@link DispatchStrategy} always give the same assignments and positions,
+ * and the run takes as long as the elevators need to step, not the recorded time.
+ * </p>
+ * <p>
+ * each run chains its assignments into a fingerprint and keeps one checkpoint per
+ * {@link #CHECKPOINT} assignments, so long runs are compared in little memory.
+ * {@link #bisect(Supplier, Supplier)} finds the first assignment where two strategies disagree.
+ * the state of the building at a checkpoint is not kept, a replay always starts at the beginning
+ * of the journal, bisecting stops the later runs at the first differing checkpoint instead.
+ * </p>
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public class Replay {
+
+	public static final int CHECKPOINT = 1024;
+	public static final int DEFAULT_CAPACITY = 5;
+
+	private final Path journal;
+	private final int minFloor;
+	private final int maxFloor;
+	private final int elevators;
+
+	/**
+	 * @param journal - directory of the recorded journal
+	 * @param minFloor - lowest floor of the building
+	 * @param maxFloor - highest floor of the building
+	 * @param elevators - number of elevators, stops recorded for other ids are skipped
+	 */
+	public Replay(Path journal, int minFloor, int maxFloor, int elevators) {
+		if (journal == null) {
+			throw new NullPointerException();
+		}
+		this.journal = journal;
+		this.minFloor = minFloor;
+		this.maxFloor = maxFloor;
+		this.elevators = elevators;
+	}
+
+	/**
+	 * replay the journal once
+	 * @param strategy - makes the {@link DispatchStrategy} of the run
+	 * @return outcome of the run
+	 * @throws IOException - if the journal cannot be read
+	 * @throws InterruptedException - if the calling thread is interrupted
+	 */
+	public Result run(Supplier<? extends DispatchStrategy> strategy) throws IOException, InterruptedException {
+		return run(strategy, new Recorder(0, 0, null, Long.MAX_VALUE));
+	}
+
+	/**
+	 * replay the journal with two strategies and find the first assignment they disagree on.
+	 * the first run is replayed in full, the second is compared with it checkpoint by checkpoint and
+	 * stops at the first one that differs, keeping only the assignments since the last matching one.
+	 * the first strategy is then replayed up to the end of that window. the replays start at the
+	 * beginning of the journal, so a divergence late in a long journal costs up to three replays of
+	 * the journal up to it.
+	 * @param a - makes the first {@link DispatchStrategy}
+	 * @param b - makes the second {@link DispatchStrategy}
+	 * @return first differing assignments, null if both runs made the same assignments
+	 * @throws IOException - if the journal cannot be read
+	 * @throws InterruptedException - if the calling thread is interrupted
+	 */
+	public Decision[] bisect(Supplier<? extends DispatchStrategy> a, Supplier<? extends DispatchStrategy> b)
+			throws IOException, InterruptedException {
+		Result first = run(a);
+		Result second = run(b, new Recorder(0, CHECKPOINT, first.checkpoints, Long.MAX_VALUE));
+		if (!second.stopped && first.decisions == second.decisions && first.fingerprint == second.fingerprint) {
+			return null;
+		}
+		long from = second.windowStart;
+		Decision[] left = run(a, new Recorder(from, CHECKPOINT, null, from + CHECKPOINT)).window;
+		Decision[] right = second.window;
+		for (int i = 0; i < CHECKPOINT; i++) {
+			Decision x = i < left.length ? left[i] : null;
+			Decision y = i < right.length ? right[i] : null;
+			if (x == null && y == null) {
+				break;
+			}
+			if (x == null || !x.equals(y)) {
+				return new Decision[] { x, y };
+			}
+		}
+		throw new IllegalStateException("The runs differ but no differing assignment was found, the strategy is not deterministic");
+	}
+
+	private Result run(Supplier<? extends DispatchStrategy> strategy, Recorder recorder) throws IOException, InterruptedException {
+		DeterministicClock clock = new DeterministicClock();
+		ElevatorSystemImp system = new ElevatorSystemImp(minFloor, maxFloor, clock);
+		int[] capacities = capacities();
+		ElevatorImp[] cars = new ElevatorImp[elevators];
+		for (int id = 0; id < elevators; id++) {
+			cars[id] = new ElevatorImp(capacities[id], system, id, clock);
+			system.addElevator(cars[id]);
+		}
+		system.setDispatchStrategy(strategy.get());
+		recorder.clock = clock;
+		system.addDispatchListener(recorder);
+		system.start();
+		IOException[] failure = new IOException[1];
+		try (JournalReader reader = new JournalReader(journal)) {
+			// the feeder takes turns like the elevators, inputs land at the same point of every run
+			clock.track(() -> {
+				try {
+					feed(reader, system, cars, clock, recorder);
+				} catch (IOException e) {
+					failure[0] = e;
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}).run();
+			clock.awaitIdle();
+		} finally {
+			system.shutdown();
+		}
+		if (failure[0] != null) {
+			throw failure[0];
+		}
+		return recorder.finish(system, cars);
+	}
+
+	/**
+	 * capacity of every elevator, from the {@link EventType#ELEVATOR} records at the start of the journal
+	 * @throws IOException - if the journal cannot be read
+	 */
+	private int[] capacities() throws IOException {
+		int[] capacities = new int[elevators];
+		Arrays.fill(capacities, DEFAULT_CAPACITY);
+		try (JournalReader reader = new JournalReader(journal)) {
+			JournalEvent event = new JournalEvent();
+			while (reader.next(event) && event.getType() == EventType.ELEVATOR) {
+				if (event.getId() >= 0 && event.getId() < elevators && event.getRiders() > 0) {
+					capacities[event.getId()] = event.getRiders();
+				}
+			}
+		}
+		return capacities;
+	}
+
+	private void feed(JournalReader reader, ElevatorSystemImp system, ElevatorImp[] cars, DeterministicClock clock, Recorder recorder)
+			throws IOException, InterruptedException {
+		JournalEvent event = new JournalEvent();
+		boolean first = true;
+		long offset = 0;
+		while (!recorder.stopped && reader.next(event)) {
+			if (event.getType() != EventType.HALL_CALL && event.getType() != EventType.STOP) {
+				continue;
+			}
+			if (first) {
+				offset = clock.currentTimeMillis() - event.getTime();
+				first = false;
+			}
+			long delay = event.getTime() + offset - clock.currentTimeMillis();
+			if (delay > 0) {
+				clock.sleep(delay);
+			}
+			try {
+				if (event.getType() == EventType.HALL_CALL) {
+					// journals written before riders were recorded have no destination
+					if (event.getTarget() >= 0 && event.getTarget() != event.getFloor() && event.getRiders() > 0) {
+						system.travel(event.getFloor(), event.getTarget(), event.getRiders());
+					} else if (event.getState() == MovingState.Down) {
+						system.callDownAsync(event.getFloor());
+					} else {
+						system.callUpAsync(event.getFloor());
+					}
+				} else if (event.getId() >= 0 && event.getId() < cars.length) {
+					cars[event.getId()].requestStop(event.getFloor());
+				} else {
+					recorder.skipped++;
+				}
+			} catch (IllegalArgumentException e) {
+				// recorded for a different building
+				recorder.skipped++;
+			}
+		}
+	}
+
+	/**
+	 * outcome of one replay
+	 */
+	public static class Result {
+
+		private long[] checkpoints;
+		private Decision[] window;
+		private long windowStart;
+		private boolean stopped;
+		private long decisions;
+		private long fingerprint;
+		private long skipped;
+		private long endTime;
+		private double power;
+		private int[] floors;
+
+		/**
+		 * @return number of assignments made
+		 */
+		public long getDecisions() {
+			return decisions;
+		}
+
+		/**
+		 * @return hash of every assignment in order, equal runs have equal fingerprints
+		 */
+		public long getFingerprint() {
+			return fingerprint;
+		}
+
+		/**
+		 * @return recorded inputs that did not fit the building
+		 */
+		public long getSkipped() {
+			return skipped;
+		}
+
+		/**
+		 * @return virtual time when the last elevator stopped
+		 */
+		public long getEndTime() {
+			return endTime;
+		}
+
+		/**
+		 * @return power consumed by every elevator
+		 */
+		public double getPowerConsumed() {
+			return power;
+		}
+
+		/**
+		 * @return final floor of every elevator by id
+		 */
+		public int[] getFloors() {
+			return floors.clone();
+		}
+	}
+
+	/**
+	 * chains the assignments of a run into its {@link Result}, called in the turns of the clock only.
+	 * without a reference it keeps the assignments from a start index in its window, with one it keeps
+	 * those since the last checkpoint and stops at the first checkpoint that differs from the reference.
+	 */
+	private static class Recorder implements DispatchListener {
+
+		private DeterministicClock clock;
+		private final long[] reference;
+		private final long stop;
+		private Decision[] window;
+		private long windowStart;
+		private long[] checkpoints = new long[16];
+		private long decisions;
+		private long fingerprint;
+		private long skipped;
+		private boolean stopped;
+
+		/**
+		 * @param from - index of the first assignment kept
+		 * @param length - assignments kept
+		 * @param reference - checkpoints of another run, null to keep from the start index
+		 * @param stop - number of assignments after which the run stops
+		 */
+		Recorder(long from, int length, long[] reference, long stop) {
+			windowStart = from;
+			window = new Decision[length];
+			this.reference = reference;
+			this.stop = stop;
+		}
+
+		@Override
+		public void onHallCall(int floor, MovingState direction, int destination, int persons) {
+		}
+
+		@Override
+		public void onAssign(int id, int floor, MovingState direction) {
+			if (stopped) {
+				return;
+			}
+			Decision decision = new Decision(decisions, clock.currentTimeMillis(), id, floor, direction);
+			fingerprint = fingerprint * 0x9E3779B97F4A7C15L + decision.hash();
+			if (decisions >= windowStart && decisions - windowStart < window.length) {
+				window[(int) (decisions - windowStart)] = decision;
+			}
+			decisions++;
+			if (decisions % CHECKPOINT == 0) {
+				int at = (int) (decisions / CHECKPOINT - 1);
+				if (at == checkpoints.length) {
+					checkpoints = Arrays.copyOf(checkpoints, at * 2);
+				}
+				checkpoints[at] = fingerprint;
+				if (reference != null) {
+					if (at >= reference.length || reference[at] != fingerprint) {
+						// the window holds the assignments since the last matching checkpoint
+						stopped = true;
+						return;
+					}
+					Arrays.fill(window, null);
+					windowStart = decisions;
+				}
+			}
+			if (decisions >= stop) {
+				stopped = true;
+			}
+		}
+
+		@Override
+		public void onStop(int id, int floor) {
+		}
+
+		@Override
+		public void onAlight(int id, int floor, int persons) {
+		}
+
+		Result finish(ElevatorSystemImp system, ElevatorImp[] cars) {
+			Result result = new Result();
+			result.checkpoints = Arrays.copyOf(checkpoints, (int) (decisions / CHECKPOINT));
+			result.window = window;
+			result.windowStart = windowStart;
+			result.stopped = stopped;
+			result.decisions = decisions;
+			result.fingerprint = fingerprint;
+			result.skipped = skipped;
+			result.endTime = clock.currentTimeMillis();
+			result.power = system.getPowerConsumed();
+			result.floors = new int[cars.length];
+			for (int id = 0; id < cars.length; id++) {
+				result.floors[id] = cars[id].getFloor();
+			}
+			return result;
+		}
+	}
+}
@@ -0,0 +1,39 @@
+package Metrics;
+
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+
+/**
+ * <p>
+ * gate in front of the flight recorder events of the emulator. a hot path asks {@link #enabled(Class)}
+ * first and only builds its event while a running recording has the event enabled, so a lock hold
+ * or an elevator step costs no allocation otherwise.
+ * </p>
+ * <p>
+ * the events use jdk.jfr, Java 8 ships it from 8u262 on. the emulator needs at least that runtime
+ * and must be compiled against a JDK, not with --release 8.
+ * </p>
+ *
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public final class FlightEvents {
+
+	private static final ClassValue<EventType> TYPES = new ClassValue<EventType>() {
+		@Override
+		protected EventType computeValue(Class<?> type) {
+			return EventType.getEventType(type.asSubclass(Event.class));
+		}
+	};
+
+	private FlightEvents() {
+	}
+
+	/**
+	 * @param type - event class
+	 * @return true if a running recording has the event enabled
+	 */
+	public static boolean enabled(Class<? extends Event> type) {
+		return TYPES.get(type).isEnabled();
+	}
+}
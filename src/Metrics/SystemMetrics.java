@@ -0,0 +1,206 @@
+package Metrics;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * histograms recorded by an elevator system on its hot path, every record is lock-free and allocation free.
+ * </p>
+ * <ul>
+ * <li>wait - hall call until an elevator arrives at its floor</li>
+ * <li>journey - stop requested inside an elevator until the elevator arrives at that floor</li>
+ * <li>assignment - hall call until the dispatcher assigns an elevator to it</li>
+ * <li>decision - wall clock nanoseconds spent in the dispatch strategy per decision</li>
+ * <li>queue depth - pending stops of an elevator each time stops are added, per elevator</li>
+ * </ul>
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public class SystemMetrics implements SystemMetricsMBean {
+
+	private final LatencyHistogram waits = new LatencyHistogram();
+	private final LatencyHistogram journeys = new LatencyHistogram();
+	private final LatencyHistogram assignments = new LatencyHistogram();
+	private final LatencyHistogram decisions = new LatencyHistogram();
+	private volatile LatencyHistogram[] queueDepths = new LatencyHistogram[0];
+
+	/**
+	 * make room for the queue depths of an elevator, not on the hot path
+	 * @param id - elevator id, not negative
+	 */
+	public synchronized void addElevator(int id) {
+		LatencyHistogram[] depths = queueDepths;
+		if (id >= depths.length) {
+			depths = Arrays.copyOf(depths, id + 1);
+		}
+		if (depths[id] == null) {
+			depths[id] = new LatencyHistogram();
+		}
+		queueDepths = depths;
+	}
+
+	public void recordWait(long millis) {
+		waits.record(millis);
+	}
+
+	public void recordJourney(long millis) {
+		journeys.record(millis);
+	}
+
+	public void recordAssignment(long millis) {
+		assignments.record(millis);
+	}
+
+	public void recordDecision(long nanos) {
+		decisions.record(nanos);
+	}
+
+	/**
+	 * @param id - elevator id passed to {@link #addElevator(int)}
+	 * @param depth - pending stops of the elevator
+	 */
+	public void recordQueueDepth(int id, int depth) {
+		queueDepths[id].record(depth);
+	}
+
+	public LatencyHistogram getWaitTimes() {
+		return waits;
+	}
+
+	public LatencyHistogram getJourneyTimes() {
+		return journeys;
+	}
+
+	public LatencyHistogram getAssignmentTimes() {
+		return assignments;
+	}
+
+	public LatencyHistogram getDecisionTimes() {
+		return decisions;
+	}
+
+	/**
+	 * @param id - elevator id
+	 * @return queue depths of one elevator
+	 * @throws IllegalArgumentException - if no elevator has this id
+	 */
+	public LatencyHistogram getQueueDepths(int id) {
+		LatencyHistogram[] depths = queueDepths;
+		if (id < 0 || id >= depths.length || depths[id] == null) {
+			throw new IllegalArgumentException("The elevator id " + id + " is not valid");
+		}
+		return depths[id];
+	}
+
+	/**
+	 * @return new histogram with the queue depths of every elevator
+	 */
+	public LatencyHistogram getQueueDepths() {
+		LatencyHistogram all = new LatencyHistogram();
+		for (LatencyHistogram depth : queueDepths) {
+			if (depth != null) {
+				all.add(depth);
+			}
+		}
+		return all;
+	}
+
+	@Override
+	public long getArrivals() {
+		return waits.getCount();
+	}
+
+	@Override
+	public long getWaitP50() {
+		return waits.getValueAtPercentile(50);
+	}
+
+	@Override
+	public long getWaitP95() {
+		return waits.getValueAtPercentile(95);
+	}
+
+	@Override
+	public long getWaitP99() {
+		return waits.getValueAtPercentile(99);
+	}
+
+	@Override
+	public long getJourneyP50() {
+		return journeys.getValueAtPercentile(50);
+	}
+
+	@Override
+	public long getJourneyP95() {
+		return journeys.getValueAtPercentile(95);
+	}
+
+	@Override
+	public long getJourneyP99() {
+		return journeys.getValueAtPercentile(99);
+	}
+
+	@Override
+	public long getAssignmentP50() {
+		return assignments.getValueAtPercentile(50);
+	}
+
+	@Override
+	public long getAssignmentP95() {
+		return assignments.getValueAtPercentile(95);
+	}
+
+	@Override
+	public long getAssignmentP99() {
+		return assignments.getValueAtPercentile(99);
+	}
+
+	@Override
+	public long getDecisionNanosP50() {
+		return decisions.getValueAtPercentile(50);
+	}
+
+	@Override
+	public long getDecisionNanosP95() {
+		return decisions.getValueAtPercentile(95);
+	}
+
+	@Override
+	public long getDecisionNanosP99() {
+		return decisions.getValueAtPercentile(99);
+	}
+
+	@Override
+	public long getQueueDepthP50() {
+		return getQueueDepths().getValueAtPercentile(50);
+	}
+
+	@Override
+	public long getQueueDepthP95() {
+		return getQueueDepths().getValueAtPercentile(95);
+	}
+
+	@Override
+	public long getQueueDepthP99() {
+		return getQueueDepths().getValueAtPercentile(99);
+	}
+
+	@Override
+	public long getQueueDepthMax() {
+		return getQueueDepths().getMax();
+	}
+
+	@Override
+	public void reset() {
+		waits.reset();
+		journeys.reset();
+		assignments.reset();
+		decisions.reset();
+		for (LatencyHistogram depth : queueDepths) {
+			if (depth != null) {
+				depth.reset();
+			}
+		}
+	}
+}
@@ -0,0 +1,53 @@
+package Metrics;
+
+/**
+ * JMX view of {@link SystemMetrics}, times are {@link Simulator.SimulationClock} milliseconds
+ * except the decision times which are wall clock nanoseconds.
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public interface SystemMetricsMBean {
+
+	/**
+	 * @return number of hall calls an elevator has arrived at
+	 */
+	long getArrivals();
+
+	long getWaitP50();
+
+	long getWaitP95();
+
+	long getWaitP99();
+
+	long getJourneyP50();
+
+	long getJourneyP95();
+
+	long getJourneyP99();
+
+	long getAssignmentP50();
+
+	long getAssignmentP95();
+
+	long getAssignmentP99();
+
+	long getDecisionNanosP50();
+
+	long getDecisionNanosP95();
+
+	long getDecisionNanosP99();
+
+	long getQueueDepthP50();
+
+	long getQueueDepthP95();
+
+	long getQueueDepthP99();
+
+	long getQueueDepthMax();
+
+	/**
+	 * forget everything recorded so far, for example before comparing two dispatchers
+	 */
+	void reset();
+}
@@ -0,0 +1,211 @@
+package Simulator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import Elevator.Elevator;
+import Elevator.ElevatorImp;
+import ElevatorSystem.ElevatorSystemImp;
+import ElevatorSystem.ExecutionMode;
+import Metrics.LatencyHistogram;
+
+/**
+ * <p>
+ * hosts many independent buildings in one process. every building is its own {@link ElevatorSystemImp}
+ * with its own lock, so buildings never wait for each other, and all of them run on one shared
+ * executor. with {@link ExecutionMode#VIRTUAL} that is one virtual thread executor, whose carrier
+ * threads are a work-stealing pool with one worker per core. with {@link ExecutionMode#PLATFORM} it is
+ * a cached pool, a sleeping elevator holds a thread but a new task always finds one. a work-stealing
+ * pool of platform threads is not used, on Java 8 it does not reliably start a spare worker once every
+ * worker is blocked, and a {@link VirtualClock} then waits forever for the queued task.
+ * </p>
+ * <p>
+ * every building records its own wait times in {@link ElevatorSystemImp#getMetrics()},
+ * {@link #getWaitTimes()} and {@link #getPowerConsumed()} aggregate every building.
+ * </p>
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public class Campus {
+
+	private final SimulationClock clock;
+	private final ExecutorService pool;
+	private final List<ElevatorSystemImp> buildings = new ArrayList<>();
+
+	public Campus() {
+		this(new RealTimeClock());
+	}
+
+	/**
+	 * @param clock - {@link SimulationClock} shared by every building
+	 */
+	public Campus(SimulationClock clock) {
+		this(clock, ExecutionMode.PLATFORM);
+	}
+
+	/**
+	 * @param clock - {@link SimulationClock} shared by every building
+	 * @param mode - {@link ExecutionMode} of the shared executor
+	 * @throws UnsupportedOperationException - if mode is {@link ExecutionMode#VIRTUAL} and the JVM has no virtual threads
+	 */
+	public Campus(SimulationClock clock, ExecutionMode mode) {
+		if (clock == null || mode == null) {
+			throw new NullPointerException("The clock and mode should not be null");
+		}
+		this.clock = clock;
+		pool = mode.newExecutor();
+	}
+
+	/**
+	 * add a building whose elevators all serve every floor
+	 * @param minFloor - lowest floor of the building
+	 * @param maxFloor - highest floor of the building
+	 * @param elevators - number of elevators
+	 * @param capacity - maximum persons per elevator
+	 * @return index of the new building
+	 */
+	public int addBuilding(int minFloor, int maxFloor, int elevators, int capacity) {
+		ElevatorSystemImp system = new ElevatorSystemImp(minFloor, maxFloor, clock, pool);
+		for (int id = 0; id < elevators; id++) {
+			system.addElevator(new ElevatorImp(capacity, system, id, clock));
+		}
+		return addBuilding(system);
+	}
+
+	/**
+	 * add a building built by the caller, for example with zoned elevators. it should be
+	 * created with {@link #getExecutor()} and {@link #getClock()}.
+	 * @param system - building to host
+	 * @return index of the new building
+	 */
+	public synchronized int addBuilding(ElevatorSystemImp system) {
+		if (system == null) {
+			throw new NullPointerException();
+		}
+		buildings.add(system);
+		return buildings.size() - 1;
+	}
+
+	/**
+	 * @param building - index returned by addBuilding
+	 * @return the building
+	 */
+	public synchronized ElevatorSystemImp getBuilding(int building) {
+		return buildings.get(building);
+	}
+
+	/**
+	 * @return number of buildings
+	 */
+	public synchronized int getBuildingCount() {
+		return buildings.size();
+	}
+
+	/**
+	 * @return executor shared by every building
+	 */
+	public ExecutorService getExecutor() {
+		return pool;
+	}
+
+	/**
+	 * @return clock shared by every building
+	 */
+	public SimulationClock getClock() {
+		return clock;
+	}
+
+	/**
+	 * call an elevator to travel up in a building
+	 * @param building - index returned by addBuilding
+	 * @param floor - passengers current floor
+	 * @return future completed with the {@link Elevator} once it has reached the floor
+	 */
+	public CompletableFuture<Elevator> callUpAsync(int building, int floor) {
+		return getBuilding(building).callUpAsync(floor);
+	}
+
+	/**
+	 * call an elevator to travel down in a building
+	 * @param building - index returned by addBuilding
+	 * @param floor - passengers current floor
+	 * @return future completed with the {@link Elevator} once it has reached the floor
+	 */
+	public CompletableFuture<Elevator> callDownAsync(int building, int floor) {
+		return getBuilding(building).callDownAsync(floor);
+	}
+
+	/**
+	 * start every building
+	 */
+	public synchronized void start() {
+		for (ElevatorSystemImp system : buildings) {
+			system.start();
+		}
+	}
+
+	/**
+	 * shutdown every building, then the shared executor
+	 */
+	public synchronized void shutdown() {
+		for (ElevatorSystemImp system : buildings) {
+			system.shutdown();
+		}
+		pool.shutdown();
+	}
+
+	/**
+	 * @return total power consumed by every elevator of the campus
+	 */
+	public synchronized double getPowerConsumed() {
+		double power = 0;
+		for (ElevatorSystemImp system : buildings) {
+			power += system.getPowerConsumed();
+		}
+		return power;
+	}
+
+	/**
+	 * @return number of elevators of the campus
+	 */
+	public synchronized int getElevatorCount() {
+		int count = 0;
+		for (ElevatorSystemImp system : buildings) {
+			count += system.getElevatorCount();
+		}
+		return count;
+	}
+
+	/**
+	 * @return number of hall calls waiting for an elevator in the whole campus
+	 */
+	public synchronized int getPendingHallCalls() {
+		int count = 0;
+		for (ElevatorSystemImp system : buildings) {
+			count += system.getPendingHallCalls();
+		}
+		return count;
+	}
+
+	/**
+	 * @param building - index returned by addBuilding
+	 * @return wait times of the building, live
+	 */
+	public synchronized LatencyHistogram getWaitTimes(int building) {
+		return buildings.get(building).getMetrics().getWaitTimes();
+	}
+
+	/**
+	 * @return wait times of every building merged into a new histogram
+	 */
+	public synchronized LatencyHistogram getWaitTimes() {
+		LatencyHistogram all = new LatencyHistogram();
+		for (ElevatorSystemImp system : buildings) {
+			all.add(system.getMetrics().getWaitTimes());
+		}
+		return all;
+	}
+}
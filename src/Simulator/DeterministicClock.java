@@ -0,0 +1,243 @@
+package Simulator;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>
+ * discrete-event {@link SimulationClock} that makes a run reproducible. like {@link VirtualClock}
+ * time jumps from one wake up to the next, but tracked tasks also take turns: only one of them
+ * runs at a time, and the next turn goes to the earliest wake up, ties broken by the order in
+ * which the tasks were tracked or went to sleep. that order only depends on what the tasks did
+ * before, so the same input gives the same interleaving, whatever threads the executor uses.
+ * </p>
+ * <p>
+ * a tracked task must be run, a dropped one keeps the clock waiting for it forever. a thread that
+ * is not inside a tracked task takes one turn when it wakes up. a tracked task that blocks on work
+ * of another tracked task, for example by joining its future, blocks the whole clock.
+ * </p>
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public class DeterministicClock implements SimulationClock {
+
+	private final PriorityQueue<Ticket> queue = new PriorityQueue<>();
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition turn = lock.newCondition();
+	private long now;
+	private long sequence;
+	private Ticket running;
+	private Thread owner;
+
+	public DeterministicClock() {
+		this(0);
+	}
+
+	/**
+	 * @param start - initial time in milliseconds
+	 */
+	public DeterministicClock(long start) {
+		now = start;
+	}
+
+	/**
+	 * current virtual time
+	 * @return time in milliseconds
+	 */
+	@Override
+	public long currentTimeMillis() {
+		lock.lock();
+		try {
+			return now;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * give up the turn until virtual time has reached now + millis
+	 * @param millis - virtual time to sleep
+	 */
+	@Override
+	public void sleep(long millis) throws InterruptedException {
+		if (millis < 0) {
+			throw new IllegalArgumentException("The sleep time cannot be negative");
+		}
+		lock.lock();
+		try {
+			boolean tracked = owner == Thread.currentThread();
+			Ticket ticket = new Ticket(now + millis, sequence++);
+			queue.add(ticket);
+			if (tracked) {
+				release();
+			} else {
+				grant();
+			}
+			acquire(ticket);
+			if (!tracked) {
+				release();
+			}
+		} finally {
+			lock.unlock();
+		}
+		if (Thread.interrupted()) {
+			throw new InterruptedException();
+		}
+	}
+
+	/**
+	 * queue a turn for the task at the current time, the returned task waits for it before running.
+	 * a tracked task run by another tracked task runs right away in the turn of the caller.
+	 * @param task - task to run
+	 * @return tracked task
+	 */
+	@Override
+	public Runnable track(Runnable task) {
+		if (task == null) {
+			throw new NullPointerException();
+		}
+		Ticket ticket;
+		lock.lock();
+		try {
+			ticket = new Ticket(now, sequence++);
+			queue.add(ticket);
+		} finally {
+			lock.unlock();
+		}
+		return () -> {
+			boolean nested;
+			lock.lock();
+			try {
+				nested = owner == Thread.currentThread();
+				if (nested) {
+					queue.remove(ticket);
+				} else {
+					grant();
+					acquire(ticket);
+				}
+			} finally {
+				lock.unlock();
+			}
+			try {
+				task.run();
+			} finally {
+				if (!nested) {
+					lock.lock();
+					try {
+						release();
+					} finally {
+						lock.unlock();
+					}
+				}
+			}
+		};
+	}
+
+	/**
+	 * block until no tracked task is running or waiting for its turn
+	 * @throws InterruptedException - if the calling thread is interrupted
+	 */
+	public void awaitIdle() throws InterruptedException {
+		lock.lock();
+		try {
+			while (running != null || !queue.isEmpty()) {
+				turn.await();
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * wait for the turn of ticket and take it. caller must hold lock.
+	 */
+	private void acquire(Ticket ticket) {
+		if (running != ticket && Thread.currentThread() instanceof ForkJoinWorkerThread) {
+			// a shared work-stealing pool starts a spare worker, the task holding the turn may be queued behind this one
+			try {
+				ForkJoinPool.managedBlock(new Waiter(ticket));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		while (running != ticket) {
+			turn.awaitUninterruptibly();
+		}
+		owner = Thread.currentThread();
+	}
+
+	/**
+	 * end the current turn and hand out the next one. caller must hold lock.
+	 */
+	private void release() {
+		owner = null;
+		running = null;
+		grant();
+		turn.signalAll();
+	}
+
+	/**
+	 * hand the turn to the earliest ticket if nobody has it. caller must hold lock.
+	 */
+	private void grant() {
+		if (running != null) {
+			return;
+		}
+		Ticket next = queue.poll();
+		if (next == null) {
+			return;
+		}
+		if (next.time > now) {
+			now = next.time;
+		}
+		running = next;
+		turn.signalAll();
+	}
+
+	/**
+	 * one turn, ordered by time and then by the order the tickets were made
+	 */
+	private static class Ticket implements Comparable<Ticket> {
+		final long time;
+		final long sequence;
+
+		Ticket(long time, long sequence) {
+			this.time = time;
+			this.sequence = sequence;
+		}
+
+		@Override
+		public int compareTo(Ticket other) {
+			int byTime = Long.compare(time, other.time);
+			return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+		}
+	}
+
+	/**
+	 * waits for a turn on behalf of a {@link ForkJoinPool} worker, called with the lock held
+	 */
+	private class Waiter implements ForkJoinPool.ManagedBlocker {
+		private final Ticket ticket;
+
+		Waiter(Ticket ticket) {
+			this.ticket = ticket;
+		}
+
+		@Override
+		public boolean block() {
+			while (running != ticket) {
+				turn.awaitUninterruptibly();
+			}
+			return true;
+		}
+
+		@Override
+		public boolean isReleasable() {
+			return running == ticket;
+		}
+	}
+}
@@ -0,0 +1,436 @@
+package Simulator;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import Dispatch.DispatchPolicy;
+import Elevator.ElevatorImp;
+import ElevatorSystem.ElevatorSystemImp;
+import ElevatorSystem.ExecutionMode;
+import Metrics.LatencyHistogram;
+
+/**
+ * <p>
+ * Monte Carlo fleet sizing, runs one simulation per {@link Configuration} under its own {@link VirtualClock}
+ * and reports wait time against power. every configuration gets the same seeded traffic for its floors,
+ * so the differences come from the fleet and not from the draw.
+ * </p>
+ * <p>
+ * the elevators of all simulations share one {@link ExecutionMode#PLATFORM} executor, so a queued
+ * tracked task always gets a thread even while every moving car sleeps. a work-stealing pool is only
+ * sure to start a spare worker for it from Java 9 on, on Java 8 virtual time stopped as soon as a
+ * simulation had more moving cars than the pool had workers. each simulation is driven by one of
+ * parallelism driver threads, the feeder blocks for the whole run.
+ * </p>
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public class FleetSweep {
+
+	private final TrafficProfile profile;
+	private final double perMinute;
+	private final long passengers;
+	private final long seed;
+	private final int parallelism;
+
+	/**
+	 * sweep on every available processor
+	 * @param profile - traffic of every simulation
+	 * @param perMinute - mean passengers arriving per minute
+	 * @param passengers - passengers per simulation
+	 * @param seed - seed of the traffic
+	 */
+	public FleetSweep(TrafficProfile profile, double perMinute, long passengers, long seed) {
+		this(profile, perMinute, passengers, seed, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * @param profile - traffic of every simulation
+	 * @param perMinute - mean passengers arriving per minute
+	 * @param passengers - passengers per simulation
+	 * @param seed - seed of the traffic
+	 * @param parallelism - simulations running at the same time
+	 */
+	public FleetSweep(TrafficProfile profile, double perMinute, long passengers, long seed, int parallelism) {
+		if (profile == null) {
+			throw new NullPointerException();
+		}
+		if (perMinute <= 0 || passengers < 1 || parallelism < 1) {
+			throw new IllegalArgumentException("The rate, passengers and parallelism should be positive");
+		}
+		this.profile = profile;
+		this.perMinute = perMinute;
+		this.passengers = passengers;
+		this.seed = seed;
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * simulate every configuration
+	 * @param configurations - fleets to compare
+	 * @return one result per configuration in the same order
+	 * @throws IOException - never for generated traffic, kept for other sources
+	 * @throws InterruptedException - if the calling thread is interrupted, running simulations are stopped
+	 */
+	public List<Result> run(List<Configuration> configurations) throws IOException, InterruptedException {
+		ExecutorService elevators = ExecutionMode.PLATFORM.newExecutor();
+		ExecutorService drivers = Executors.newFixedThreadPool(parallelism);
+		try {
+			List<Future<Result>> futures = new ArrayList<>(configurations.size());
+			for (Configuration configuration : configurations) {
+				if (configuration == null) {
+					throw new NullPointerException();
+				}
+				futures.add(drivers.submit(() -> simulate(configuration, elevators)));
+			}
+			List<Result> results = new ArrayList<>(futures.size());
+			for (Future<Result> future : futures) {
+				try {
+					results.add(future.get());
+				} catch (ExecutionException e) {
+					if (e.getCause() instanceof IOException) {
+						throw (IOException) e.getCause();
+					}
+					throw new IllegalStateException("A simulation failed", e.getCause());
+				}
+			}
+			return results;
+		} finally {
+			drivers.shutdownNow();
+			elevators.shutdownNow();
+		}
+	}
+
+	/**
+	 * run one configuration on the calling thread
+	 * @param configuration - fleet to simulate
+	 * @return wait time, trip time and power of the run
+	 * @throws IOException - never for generated traffic, kept for other sources
+	 * @throws InterruptedException - if the calling thread is interrupted
+	 */
+	public Result simulate(Configuration configuration) throws IOException, InterruptedException {
+		ExecutorService elevators = ExecutionMode.PLATFORM.newExecutor();
+		try {
+			return simulate(configuration, elevators);
+		} finally {
+			elevators.shutdownNow();
+		}
+	}
+
+	private Result simulate(Configuration configuration, ExecutorService elevators) throws IOException, InterruptedException {
+		int minFloor = configuration.getMinFloor();
+		int maxFloor = configuration.getMaxFloor();
+		VirtualClock clock = new VirtualClock();
+		ElevatorSystemImp system = new ElevatorSystemImp(minFloor, maxFloor, clock, elevators);
+		for (int id = 0; id < configuration.getCars(); id++) {
+			system.addElevator(new ElevatorImp(configuration.getCapacity(), system, id, clock));
+		}
+		system.setDispatchStrategy(configuration.getPolicy().newStrategy(minFloor, maxFloor));
+		TraceRunner runner = new TraceRunner(system);
+		system.start();
+		try {
+			runner.run(new TrafficGenerator(profile, perMinute, minFloor, maxFloor, passengers, seed));
+		} finally {
+			system.shutdown();
+		}
+		return new Result(configuration, runner, system.getPowerConsumed());
+	}
+
+	/**
+	 * every combination of the given values
+	 * @param cars - elevator counts
+	 * @param capacities - persons per elevator
+	 * @param floors - pairs of min and max floor
+	 * @param policies - dispatch policies
+	 * @return configurations, policies vary fastest
+	 */
+	public static List<Configuration> grid(int[] cars, int[] capacities, int[][] floors, DispatchPolicy... policies) {
+		List<Configuration> grid = new ArrayList<>(cars.length * capacities.length * floors.length * policies.length);
+		for (int[] range : floors) {
+			for (int count : cars) {
+				for (int capacity : capacities) {
+					for (DispatchPolicy policy : policies) {
+						grid.add(new Configuration(count, capacity, range[0], range[1], policy));
+					}
+				}
+			}
+		}
+		return grid;
+	}
+
+	/**
+	 * results no other result beats on both mean wait and power, sorted by mean wait
+	 * @param results - results of a sweep
+	 * @return Pareto front of wait time against power
+	 */
+	public static List<Result> paretoFront(List<Result> results) {
+		List<Result> sorted = new ArrayList<>(results);
+		Collections.sort(sorted, Comparator.comparingDouble(Result::getMeanWait).thenComparingDouble(Result::getPowerConsumed));
+		List<Result> front = new ArrayList<>();
+		double lowest = Double.POSITIVE_INFINITY;
+		for (Result result : sorted) {
+			if (result.getPowerConsumed() < lowest) {
+				front.add(result);
+				lowest = result.getPowerConsumed();
+			}
+		}
+		return front;
+	}
+
+	/**
+	 * write results as an aligned table, one row per result
+	 * @param results - rows to write
+	 * @param out - stream to write to
+	 */
+	public static void writeTable(List<Result> results, PrintStream out) {
+		out.println(String.format("%5s %8s %10s %-14s %10s %10s %10s %12s %12s", "cars", "capacity", "floors", "policy",
+				"wait mean", "wait p95", "trip mean", "power", "power/pass"));
+		for (Result result : results) {
+			Configuration c = result.getConfiguration();
+			out.println(String.format("%5d %8d %10s %-14s %10.1f %10d %10.1f %12.0f %12.2f", c.getCars(), c.getCapacity(),
+					c.getMinFloor() + ":" + c.getMaxFloor(), c.getPolicy(), result.getMeanWait(), result.getWaitP95(),
+					result.getMeanTripTime(), result.getPowerConsumed(), result.getPowerPerPassenger()));
+		}
+	}
+
+	/**
+	 * sweep a grid of fleets and print the Pareto table of wait time against power.
+	 * arguments: profile perMinute passengers cars capacities floors [policies] [seed]
+	 * @param args - cars and capacities as a list 2,4,6 or a range 2-8, floors as a list of
+	 *            min:max, policies as a list or ALL, all policies and seed 1 by default
+	 */
+	public static void main(String[] args) throws IOException, InterruptedException {
+		if (args.length < 6) {
+			usage();
+		}
+		TrafficProfile profile = null;
+		double perMinute = 0;
+		long passengers = 0;
+		long seed = 1;
+		List<Configuration> grid = null;
+		try {
+			profile = TrafficProfile.valueOf(args[0]);
+			perMinute = Double.parseDouble(args[1]);
+			passengers = Long.parseLong(args[2]);
+			int[] cars = parseInts(args[3]);
+			int[] capacities = parseInts(args[4]);
+			int[][] floors = parseFloors(args[5]);
+			DispatchPolicy[] policies = DispatchPolicy.values();
+			if (args.length > 6 && !args[6].equals("ALL")) {
+				String[] names = args[6].split(",");
+				policies = new DispatchPolicy[names.length];
+				for (int i = 0; i < names.length; i++) {
+					policies[i] = DispatchPolicy.valueOf(names[i]);
+				}
+			}
+			if (args.length > 7) {
+				seed = Long.parseLong(args[7]);
+			}
+			grid = grid(cars, capacities, floors, policies);
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			usage();
+		}
+
+		long start = System.nanoTime();
+		List<Result> results = new FleetSweep(profile, perMinute, passengers, seed).run(grid);
+		System.out.println(String.format("%d configurations in %.1f s", results.size(), (System.nanoTime() - start) / 1e9));
+		writeTable(paretoFront(results), System.out);
+	}
+
+	private static void usage() {
+		System.err.println("usage: FleetSweep UP_PEAK|DOWN_PEAK|LUNCH|INTERFLOOR perMinute passengers cars capacities floors [policies] [seed]");
+		System.err.println("example: FleetSweep UP_PEAK 20 300 2-8 5,10,15 0:20,0:40 ALL 1");
+		System.exit(2);
+	}
+
+	/**
+	 * parse a list of numbers and ranges, a leading minus belongs to the number
+	 * @param text - list 2,4,6, range 2-8 or both as in -3--1,2,4-6
+	 * @return numbers in the given order
+	 * @throws IllegalArgumentException - if a number is malformed or a range is empty
+	 */
+	public static int[] parseInts(String text) {
+		IntStream.Builder values = IntStream.builder();
+		for (String item : text.split(",", -1)) {
+			int dash = item.indexOf('-', 1);
+			if (dash < 0) {
+				values.add(Integer.parseInt(item));
+				continue;
+			}
+			int from = Integer.parseInt(item.substring(0, dash));
+			int to = Integer.parseInt(item.substring(dash + 1));
+			if (to < from) {
+				throw new IllegalArgumentException("The range " + item + " is empty");
+			}
+			for (int value = from; value <= to; value++) {
+				values.add(value);
+			}
+		}
+		return values.build().toArray();
+	}
+
+	/**
+	 * parse a list of floor ranges
+	 * @param text - list of min:max, for example -2:20,0:40
+	 * @return pairs of min and max floor
+	 * @throws IllegalArgumentException - if a range has no colon or a floor is malformed
+	 */
+	public static int[][] parseFloors(String text) {
+		String[] ranges = text.split(",", -1);
+		int[][] floors = new int[ranges.length][];
+		for (int i = 0; i < ranges.length; i++) {
+			int colon = ranges[i].indexOf(':');
+			if (colon < 0) {
+				throw new IllegalArgumentException("The floors " + ranges[i] + " should be min:max");
+			}
+			floors[i] = new int[] { Integer.parseInt(ranges[i].substring(0, colon)), Integer.parseInt(ranges[i].substring(colon + 1)) };
+		}
+		return floors;
+	}
+
+	/**
+	 * one fleet of a sweep
+	 */
+	public static final class Configuration {
+
+		private final int cars;
+		private final int capacity;
+		private final int minFloor;
+		private final int maxFloor;
+		private final DispatchPolicy policy;
+
+		/**
+		 * @param cars - number of elevators
+		 * @param capacity - persons per elevator
+		 * @param minFloor - lowest floor
+		 * @param maxFloor - highest floor
+		 * @param policy - dispatch policy
+		 */
+		public Configuration(int cars, int capacity, int minFloor, int maxFloor, DispatchPolicy policy) {
+			if (policy == null) {
+				throw new NullPointerException();
+			}
+			if (cars < 1 || capacity < 1 || maxFloor <= minFloor) {
+				throw new IllegalArgumentException("A fleet needs an elevator, a capacity and two floors");
+			}
+			this.cars = cars;
+			this.capacity = capacity;
+			this.minFloor = minFloor;
+			this.maxFloor = maxFloor;
+			this.policy = policy;
+		}
+
+		public int getCars() {
+			return cars;
+		}
+
+		public int getCapacity() {
+			return capacity;
+		}
+
+		public int getMinFloor() {
+			return minFloor;
+		}
+
+		public int getMaxFloor() {
+			return maxFloor;
+		}
+
+		public DispatchPolicy getPolicy() {
+			return policy;
+		}
+
+		@Override
+		public String toString() {
+			return cars + "x" + capacity + " " + minFloor + ":" + maxFloor + " " + policy;
+		}
+	}
+
+	/**
+	 * outcome of one simulation, times in clock milliseconds
+	 */
+	public static final class Result {
+
+		private final Configuration configuration;
+		private final long passengers;
+		private final long skipped;
+		private final double meanWait;
+		private final long waitP95;
+		private final long maxWait;
+		private final double meanTripTime;
+		private final double powerConsumed;
+
+		Result(Configuration configuration, TraceRunner runner, double powerConsumed) {
+			LatencyHistogram waits = runner.getWaitTimes();
+			this.configuration = configuration;
+			passengers = runner.getPassengers();
+			skipped = runner.getSkipped();
+			meanWait = waits.getMean();
+			waitP95 = waits.getValueAtPercentile(95);
+			maxWait = waits.getMax();
+			meanTripTime = runner.getMeanTripTime();
+			this.powerConsumed = powerConsumed;
+		}
+
+		public Configuration getConfiguration() {
+			return configuration;
+		}
+
+		/**
+		 * @return passengers that travelled
+		 */
+		public long getPassengers() {
+			return passengers;
+		}
+
+		/**
+		 * @return arrivals no elevator could carry, a group larger than the capacity for example
+		 */
+		public long getSkipped() {
+			return skipped;
+		}
+
+		public double getMeanWait() {
+			return meanWait;
+		}
+
+		public long getWaitP95() {
+			return waitP95;
+		}
+
+		public long getMaxWait() {
+			return maxWait;
+		}
+
+		public double getMeanTripTime() {
+			return meanTripTime;
+		}
+
+		public double getPowerConsumed() {
+			return powerConsumed;
+		}
+
+		/**
+		 * @return power divided by passengers that travelled, 0 if nobody did
+		 */
+		public double getPowerPerPassenger() {
+			return passengers == 0 ? 0 : powerConsumed / passengers;
+		}
+
+		@Override
+		public String toString() {
+			return configuration + " wait " + String.format("%.1f", meanWait) + " power " + powerConsumed;
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package Simulator;
+
+/**
+ * <p>
+ * one arrival of a passenger, or a group travelling together, at a hall. a {@link PassengerSource}
+ * fills the same instance again for every arrival, so streaming millions of passengers allocates nothing.
+ * </p>
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public class Passenger {
+
+	private long time;
+	private int origin;
+	private int destination;
+	private int group;
+
+	/**
+	 * overwrite this passenger
+	 * @param time - arrival time in milliseconds
+	 * @param origin - floor of the hall call
+	 * @param destination - floor to travel to
+	 * @param group - number of persons travelling together, at least 1
+	 */
+	public void set(long time, int origin, int destination, int group) {
+		if (group < 1) {
+			throw new IllegalArgumentException("The group should have at least 1 person");
+		}
+		this.time = time;
+		this.origin = origin;
+		this.destination = destination;
+		this.group = group;
+	}
+
+	public long getTime() {
+		return time;
+	}
+
+	public int getOrigin() {
+		return origin;
+	}
+
+	public int getDestination() {
+		return destination;
+	}
+
+	public int getGroup() {
+		return group;
+	}
+
+	/**
+	 * @return true if the passenger travels to a higher floor
+	 */
+	public boolean isGoingUp() {
+		return destination > origin;
+	}
+
+	@Override
+	public String toString() {
+		return time + "," + origin + "," + destination + "," + group;
+	}
+}
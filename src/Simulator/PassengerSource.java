@@ -0,0 +1,23 @@
+package Simulator;
+
+import java.io.IOException;
+
+/**
+ * <p>
+ * stream of passenger arrivals ordered by time, read one at a time so a source of any length
+ * runs in constant memory.
+ * </p>
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public interface PassengerSource {
+
+	/**
+	 * read the next arrival
+	 * @param passenger - filled with the next arrival, cannot be null
+	 * @return false if the source is exhausted, passenger is not changed then
+	 * @throws IOException - if the source cannot be read
+	 */
+	boolean next( Passenger passenger) throws IOException;
+}
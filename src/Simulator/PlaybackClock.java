@@ -0,0 +1,228 @@
+package Simulator;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>
+ * {@link VirtualClock} paced against the wall clock for watching a simulation, it can be paused,
+ * sped up and skipped ahead. nothing in the simulation sleeps in real time, the clock is held back
+ * by a pacer instead.
+ * </p>
+ * <p>
+ * the pacer is a tracked task of its own. while it is awake virtual time cannot move, so it sleeps
+ * one frame of virtual time at a time and then waits until the wall clock has caught up at the
+ * current speed. pausing keeps it awake, skipping lets it sleep straight to the target time.
+ * </p>
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public class PlaybackClock extends VirtualClock {
+
+	/**
+	 * wall time paced per step of the pacer
+	 */
+	public static final long FRAME_MILLIS = 16;
+	/**
+	 * a pacer further behind than this stops trying to catch up and runs from where it is
+	 */
+	private static final long MAX_LAG_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+	private final ReentrantLock control = new ReentrantLock();
+	private final Condition changed = control.newCondition();
+	private Thread pacer;
+	private boolean closed;
+	private boolean paused;
+	private double speed = 1;
+	private long skipTo = Long.MIN_VALUE;
+	private long anchorTime;
+	private long anchorNanos;
+
+	public PlaybackClock() {
+		this(0);
+	}
+
+	/**
+	 * @param start - initial time in milliseconds
+	 */
+	public PlaybackClock(long start) {
+		super(start);
+	}
+
+	/**
+	 * start pacing, until then the clock runs as fast as a {@link VirtualClock}
+	 */
+	public void start() {
+		control.lock();
+		try {
+			if (pacer != null) {
+				throw new IllegalStateException("The clock is already started");
+			}
+			anchor();
+			pacer = new Thread(track(this::pace), "PlaybackClock");
+			pacer.setDaemon(true);
+			pacer.start();
+		} finally {
+			control.unlock();
+		}
+	}
+
+	/**
+	 * stop pacing, the clock runs as fast as a {@link VirtualClock} from now on
+	 */
+	public void close() {
+		control.lock();
+		try {
+			closed = true;
+			if (pacer != null) {
+				pacer.interrupt();
+			}
+		} finally {
+			control.unlock();
+		}
+	}
+
+	/**
+	 * hold virtual time where it is
+	 */
+	public void pause() {
+		control.lock();
+		try {
+			paused = true;
+			changed.signalAll();
+		} finally {
+			control.unlock();
+		}
+	}
+
+	/**
+	 * continue after {@link #pause()}
+	 */
+	public void resume() {
+		control.lock();
+		try {
+			paused = false;
+			anchor();
+			changed.signalAll();
+		} finally {
+			control.unlock();
+		}
+	}
+
+	public boolean isPaused() {
+		control.lock();
+		try {
+			return paused;
+		} finally {
+			control.unlock();
+		}
+	}
+
+	/**
+	 * @param speed - virtual milliseconds per wall millisecond, 1 is real time
+	 */
+	public void setSpeed(double speed) {
+		if (!(speed > 0) || Double.isInfinite(speed)) {
+			throw new IllegalArgumentException("The speed should be positive");
+		}
+		control.lock();
+		try {
+			this.speed = speed;
+			anchor();
+			changed.signalAll();
+		} finally {
+			control.unlock();
+		}
+	}
+
+	public double getSpeed() {
+		control.lock();
+		try {
+			return speed;
+		} finally {
+			control.unlock();
+		}
+	}
+
+	/**
+	 * run without pacing until virtual time reaches time, then continue at the current speed.
+	 * a time already passed is ignored, skipping also resumes a paused clock.
+	 * @param time - time in milliseconds
+	 */
+	public void skipTo(long time) {
+		control.lock();
+		try {
+			skipTo = time;
+			paused = false;
+			changed.signalAll();
+		} finally {
+			control.unlock();
+		}
+	}
+
+	/**
+	 * @return true while {@link #skipTo(long)} is running ahead
+	 */
+	public boolean isSkipping() {
+		control.lock();
+		try {
+			return skipTo > currentTimeMillis();
+		} finally {
+			control.unlock();
+		}
+	}
+
+	/**
+	 * pair the current virtual time with the current wall time, called with control held
+	 */
+	private void anchor() {
+		anchorTime = currentTimeMillis();
+		anchorNanos = System.nanoTime();
+	}
+
+	/**
+	 * body of the pacer thread, virtual time only moves while it sleeps
+	 */
+	private void pace() {
+		try {
+			while (true) {
+				long step;
+				control.lock();
+				try {
+					if (closed) {
+						return;
+					}
+					if (paused) {
+						changed.await();
+						continue;
+					}
+					long now = currentTimeMillis();
+					if (skipTo > now) {
+						step = skipTo - now;
+					} else {
+						if (skipTo != Long.MIN_VALUE) {
+							skipTo = Long.MIN_VALUE;
+							anchor();
+						}
+						long wait = anchorNanos + (long) ((now - anchorTime) * 1e6 / speed) - System.nanoTime();
+						if (wait > 0) {
+							changed.awaitNanos(wait);
+							continue;
+						}
+						if (wait < -MAX_LAG_NANOS) {
+							anchor();
+						}
+						step = Math.max(1, Math.round(FRAME_MILLIS * speed));
+					}
+				} finally {
+					control.unlock();
+				}
+				sleep(step);
+			}
+		} catch (InterruptedException e) {
+			// closed, time runs free
+		}
+	}
+}
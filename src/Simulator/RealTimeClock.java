@@ -0,0 +1,63 @@
+package Simulator;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * {@link SimulationClock} backed by the wall clock, sleeping with {@link Thread#sleep(long)}.
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public class RealTimeClock implements SimulationClock {
+
+	/**
+	 * current wall clock time
+	 * @return {@link System#currentTimeMillis()}
+	 */
+	@Override
+	public long currentTimeMillis() {
+		return System.currentTimeMillis();
+	}
+
+	/**
+	 * sleep the calling thread in real time, a {@link ForkJoinPool} worker tells its pool
+	 * so the pool can run other tasks on a spare worker meanwhile
+	 * @param millis - time to sleep
+	 */
+	@Override
+	public void sleep(long millis) throws InterruptedException {
+		if (!(Thread.currentThread() instanceof ForkJoinWorkerThread)) {
+			Thread.sleep(millis);
+			return;
+		}
+		ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+			private boolean slept;
+
+			@Override
+			public boolean block() throws InterruptedException {
+				Thread.sleep(millis);
+				slept = true;
+				return true;
+			}
+
+			@Override
+			public boolean isReleasable() {
+				return slept;
+			}
+		});
+	}
+
+	/**
+	 * real time does not wait for anyone, the task is returned as is
+	 * @param task - task to run
+	 * @return the same task
+	 */
+	@Override
+	public Runnable track(Runnable task) {
+		if (task == null) {
+			throw new NullPointerException();
+		}
+		return task;
+	}
+}
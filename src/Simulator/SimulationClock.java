@@ -0,0 +1,39 @@
+package Simulator;
+
+import Elevator.ElevatorImp;
+import ElevatorSystem.ElevatorSystemImp;
+
+/**
+ * <p>
+ * source of time for the simulation. {@link ElevatorImp} sleeps through it between floor steps and
+ * {@link ElevatorSystemImp} runs its tasks through it, so the same code can run against the wall clock
+ * or against virtual time.
+ * </p>
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public interface SimulationClock {
+
+	/**
+	 * current time of this clock.
+	 * @return time in milliseconds
+	 */
+	long currentTimeMillis();
+
+	/**
+	 * block the calling thread for an amount of clock time.
+	 * @param millis - clock time to sleep, cannot be negative
+	 * @throws InterruptedException - if the thread is interrupted while sleeping
+	 */
+	void sleep( final long millis) throws InterruptedException;
+
+	/**
+	 * wrap a task so the clock knows about it. from this call until the returned task has completed,
+	 * a virtual clock will not move past the task unless it is sleeping through {@link #sleep(long)}.
+	 * the returned task must be run exactly once.
+	 * @param task - task to be tracked, cannot be null
+	 * @return task to be run in place of the given one
+	 */
+	Runnable track( final Runnable task);
+}
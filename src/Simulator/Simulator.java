@@ -1,13 +1,16 @@
 package Simulator;
 
+import java.util.Arrays;
+import java.util.Observable;
 import java.util.Observer;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
-import Elevator.Elevator;
 import Elevator.ElevatorImp;
-import ElevatorSystem.ElevatorPanel;
+import Elevator.ElevatorListener;
 import ElevatorSystem.ElevatorSystem;
 import ElevatorSystem.ElevatorSystemImp;
 
@@ -16,22 +19,69 @@ public class Simulator{
 	private static final int MIN_FLOOR = 0;
 	private static final int MAX_FLOOR = 20;
 	private static final int MAX_CAPACITY = 5;
+	private static final int ELEVATOR_COUNT = 4;
 
 	private ElevatorSystem system;
 
+	public Simulator( ElevatorListener listener, final int minFloor, final int maxFloor, final int elevatorCount, final SimulationClock clock){
+		build( minFloor, maxFloor, elevatorCount, clock).addListener( listener);
+	}
+
+	public Simulator( ElevatorListener listener, final int minFloor, final int maxFloor, final SimulationClock clock){
+		this( listener, minFloor, maxFloor, ELEVATOR_COUNT, clock);
+	}
+
+	public Simulator( ElevatorListener listener, final int minFloor, final int maxFloor, final int elevatorCount){
+		this( listener, minFloor, maxFloor, elevatorCount, new RealTimeClock());
+	}
+
+	public Simulator( ElevatorListener listener, final int minFloor, final int maxFloor){
+		this( listener, minFloor, maxFloor, new RealTimeClock());
+	}
+
+	public Simulator( ElevatorListener listener){
+		this( listener, MIN_FLOOR, MAX_FLOOR);
+	}
+
+	/**
+	 * the observer is told about every step like before, with the {@link ElevatorImp} as the
+	 * observable and the id, floor, target and power boxed in a list
+	 * @deprecated use {@link #Simulator(ElevatorListener, int, int)}, its steps are not boxed
+	 */
+	@Deprecated
 	public Simulator( Observer observer, final int minFloor, final int maxFloor){
-		system = new ElevatorSystemImp( minFloor, maxFloor);
-		system.addElevator( new ElevatorImp( MAX_CAPACITY, (ElevatorPanel) system, system.getElevatorCount()));
-		system.addElevator( new ElevatorImp( MAX_CAPACITY, (ElevatorPanel) system, system.getElevatorCount()));
-		system.addElevator( new ElevatorImp( MAX_CAPACITY, (ElevatorPanel) system, system.getElevatorCount()));
-		system.addElevator( new ElevatorImp( MAX_CAPACITY, (ElevatorPanel) system, system.getElevatorCount()));
-		system.addObserver( observer);
+		if ( observer == null){
+			throw new NullPointerException();
+		}
+		ElevatorSystemImp built = build( minFloor, maxFloor, ELEVATOR_COUNT, new RealTimeClock());
+		built.addListener( ( id, floor, target, power, state) ->
+				observer.update( (Observable) built.getElevator( id), Arrays.asList( id, floor, target, power)));
 	}
 
+	/**
+	 * @deprecated use {@link #Simulator(ElevatorListener)}, its steps are not boxed
+	 */
+	@Deprecated
 	public Simulator( Observer observer){
 		this( observer, MIN_FLOOR, MAX_FLOOR);
 	}
 
+	private ElevatorSystemImp build( final int minFloor, final int maxFloor, final int elevatorCount, final SimulationClock clock){
+		if ( elevatorCount < 1){
+			throw new IllegalArgumentException( "The elevator count should be positive");
+		}
+		ElevatorSystemImp built = new ElevatorSystemImp( minFloor, maxFloor, clock);
+		for ( int id = 0; id < elevatorCount; id++){
+			built.addElevator( new ElevatorImp( MAX_CAPACITY, built, id, clock));
+		}
+		system = built;
+		return built;
+	}
+
+	public int getMinFloor(){
+		return system.getMinFloor();
+	}
+
 	public int getFloorCount(){
 		return system.getFloorCount();
 	}
@@ -44,33 +94,47 @@ public class Simulator{
 		system.shutdown();
 	}
 
+	/**
+	 * one rider from origin to every destination, floors are clamped to the building. the riders
+	 * board through the system and get off when their car stops at the destination.
+	 * @param origin - floor the riders wait at
+	 * @param destinations - demo floors the riders travel to
+	 */
+	private void trips( final int origin, final int... destinations){
+		int min = system.getMinFloor();
+		int max = system.getMaxFloor();
+		for ( int floor : destinations){
+			int destination = Math.max( min, Math.min( max, floor));
+			if ( destination == origin){
+				continue;
+			}
+			system.travel( origin, destination, 1).whenComplete( ( elevator, error) -> {
+				if ( error instanceof CompletionException){
+					error = error.getCause();
+				}
+				if ( error instanceof RejectedExecutionException){
+					// still waiting when the system was shut down
+					return;
+				}
+				if ( error != null){
+					error.printStackTrace();
+				} else {
+					System.out.println( "ID: " + elevator.id() + " " + origin + " -> " + destination);
+				}
+			});
+		}
+	}
+
 	public void start(){
 		system.start();
+		// the demo trips are written for floors 0-20, they start at the lowest and the highest floor
+		final int min = system.getMinFloor();
+		final int max = system.getMaxFloor();
 		ScheduledExecutorService se = Executors.newScheduledThreadPool( 4);
-		se.schedule( () -> {
-			Elevator elevator = system.callUp( 0);
-			System.out.println( "ID: " + elevator.id());
-			elevator.addPersons( 1);
-			elevator.requestStops( 12, 2, 5, 9, 20, 3);
-		}, 0, TimeUnit.MILLISECONDS);
-		se.schedule( () -> {
-			Elevator elevator = system.callDown( 20);
-			System.out.println( "ID: " + elevator.id());
-			elevator.addPersons( 2);
-			elevator.requestStops( 11, 3, 6, 10, 19, 15);
-		}, 50, TimeUnit.MILLISECONDS);
-		se.schedule( () -> {
-			Elevator elevator = system.callUp( 0);
-			System.out.println( "ID: " + elevator.id());
-			elevator.addPersons( 3);
-			elevator.requestStops( 12, 4, 7, 11, 18, 9);
-		}, 100, TimeUnit.MILLISECONDS);
-		se.schedule( () -> {
-			Elevator elevator = system.callDown( 20);
-			System.out.println( "ID: " + elevator.id());
-			elevator.addPersons( 4);
-			elevator.requestStops( 9, 5, 8, 12, 17, 2);
-		}, 150, TimeUnit.MILLISECONDS);
+		se.schedule( () -> trips( min, 12, 2, 5, 9, 20, 3), 0, TimeUnit.MILLISECONDS);
+		se.schedule( () -> trips( max, 11, 3, 6, 10, 19, 15), 50, TimeUnit.MILLISECONDS);
+		se.schedule( () -> trips( min, 12, 4, 7, 11, 18, 9), 100, TimeUnit.MILLISECONDS);
+		se.schedule( () -> trips( max, 9, 5, 8, 12, 17, 2), 150, TimeUnit.MILLISECONDS);
 		se.shutdown();
 	}
 }
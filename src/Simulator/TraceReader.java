@@ -0,0 +1,152 @@
+package Simulator;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * <p>
+ * {@link PassengerSource} reading a passenger trace, one arrival per line:
+ * </p>
+ * <pre>
+ * time,origin,destination[,group]
+ * </pre>
+ * <p>
+ * time is in milliseconds, group defaults to 1. empty lines and lines starting with # are skipped,
+ * and so is a header on the first line. lines are parsed without splitting, only the line itself is allocated.
+ * </p>
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public class TraceReader implements PassengerSource, Closeable {
+
+	private final BufferedReader reader;
+	private long line;
+
+	/**
+	 * @param reader - trace to read, closed by {@link #close()}
+	 */
+	public TraceReader(Reader reader) {
+		if (reader == null) {
+			throw new NullPointerException();
+		}
+		this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader, 1 << 16);
+	}
+
+	/**
+	 * @param path - UTF-8 trace file
+	 * @return reader of the file
+	 * @throws IOException - if the file cannot be opened
+	 */
+	public static TraceReader open(Path path) throws IOException {
+		return new TraceReader(Files.newBufferedReader(path, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * @throws IOException - if a line is not a valid arrival
+	 */
+	@Override
+	public boolean next(Passenger passenger) throws IOException {
+		String text;
+		while ((text = reader.readLine()) != null) {
+			line++;
+			int length = text.length();
+			int start = 0;
+			while (start < length && text.charAt(start) <= ' ') {
+				start++;
+			}
+			if (start == length || text.charAt(start) == '#') {
+				continue;
+			}
+			char first = text.charAt(start);
+			if (line == 1 && first != '-' && (first < '0' || first > '9')) {
+				continue;
+			}
+			try {
+				int end = field(text, start);
+				long time = parse(text, start, end);
+				start = end + 1;
+				end = field(text, start);
+				int origin = parseInt(text, start, end);
+				start = end + 1;
+				end = field(text, start);
+				int destination = parseInt(text, start, end);
+				int group = 1;
+				if (end < length) {
+					start = end + 1;
+					end = field(text, start);
+					group = parseInt(text, start, end);
+				}
+				passenger.set(time, origin, destination, group);
+				return true;
+			} catch (IllegalArgumentException e) {
+				throw new IOException("line " + line + ": " + e.getMessage() + ": " + text);
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return number of lines read so far
+	 */
+	public long getLine() {
+		return line;
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+
+	/**
+	 * @return index of the comma ending the field starting at start, or the line length
+	 */
+	private static int field(String text, int start) {
+		if (start > text.length()) {
+			throw new IllegalArgumentException("missing field");
+		}
+		int end = text.indexOf(',', start);
+		return end < 0 ? text.length() : end;
+	}
+
+	private static int parseInt(String text, int start, int end) {
+		long value = parse(text, start, end);
+		if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("invalid number");
+		}
+		return (int) value;
+	}
+
+	/**
+	 * parse a decimal number between start and end, surrounding blanks are ignored
+	 */
+	private static long parse(String text, int start, int end) {
+		while (start < end && text.charAt(start) <= ' ') {
+			start++;
+		}
+		while (end > start && text.charAt(end - 1) <= ' ') {
+			end--;
+		}
+		boolean negative = start < end && text.charAt(start) == '-';
+		if (negative) {
+			start++;
+		}
+		if (start == end) {
+			throw new IllegalArgumentException("missing number");
+		}
+		long value = 0;
+		for (int i = start; i < end; i++) {
+			char c = text.charAt(i);
+			if (c < '0' || c > '9' || value > (Long.MAX_VALUE - 9) / 10) {
+				throw new IllegalArgumentException("invalid number");
+			}
+			value = value * 10 + (c - '0');
+		}
+		return negative ? -value : value;
+	}
+}
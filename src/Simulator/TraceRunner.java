@@ -0,0 +1,310 @@
+package Simulator;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import Elevator.Elevator;
+import Elevator.ElevatorImp;
+import Elevator.MovingState;
+import ElevatorSystem.DispatchListener;
+import ElevatorSystem.ElevatorSystemImp;
+import Metrics.LatencyHistogram;
+
+/**
+ * <p>
+ * headless runner feeding a {@link PassengerSource} into an {@link ElevatorSystemImp}, no JavaFX needed.
+ * every arrival travels with {@link ElevatorSystemImp#travel(int, int, int)} at its time on the system
+ * clock, the group boards an {@link ElevatorImp} with room for it and gets off at the destination.
+ * the run ends when every passenger has reached the destination, then {@link #writeSummary(PrintStream)} reports wait time, trip time and power.
+ * </p>
+ * <p>
+ * passengers are streamed, only the call times of the riders are summed per elevator and floor
+ * while they travel and the system tells when they get off, memory does not grow with the length
+ * of the trace. with a {@link VirtualClock} a day of traffic replays as
+ * fast as the elevators can step.
+ * </p>
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public class TraceRunner implements DispatchListener {
+
+	private final ElevatorSystemImp system;
+	private final SimulationClock clock;
+	private final LatencyHistogram waits = new LatencyHistogram();
+	private final AtomicLong failed = new AtomicLong();
+	private final Object lock = new Object();
+	private final int minFloor;
+	private long[][] callTimes = new long[0][];
+	private long travelling;
+	private long tripTime;
+	private long trips;
+	private long passengers;
+	private long calls;
+	private long skipped;
+	private long startTime;
+	private long endTime;
+	private long wallNanos;
+	private Exception failure;
+
+	/**
+	 * @param system - system with its elevators added, started by the caller
+	 */
+	public TraceRunner(ElevatorSystemImp system) {
+		if (system == null) {
+			throw new NullPointerException();
+		}
+		this.system = system;
+		clock = system.getClock();
+		minFloor = system.getMinFloor();
+		system.addDispatchListener(this);
+	}
+
+	/**
+	 * feed every arrival of source, then wait until every passenger has reached the destination.
+	 * arrivals are paced by their time relative to the first arrival, an arrival that is earlier
+	 * than the one before is called right away.
+	 * @param source - arrivals, not closed
+	 * @throws IOException - if source cannot be read, calls already made are still served
+	 * @throws InterruptedException - if the calling thread is interrupted
+	 */
+	public void run(PassengerSource source) throws IOException, InterruptedException {
+		long wallStart = System.nanoTime();
+		startTime = clock.currentTimeMillis();
+		// the feeder holds virtual time while it reads, time only moves while it waits for the next arrival
+		clock.track(() -> {
+			try {
+				feed(source);
+			} catch (IOException | InterruptedException e) {
+				failure = e;
+			}
+		}).run();
+		synchronized (lock) {
+			while (travelling > 0) {
+				lock.wait();
+			}
+		}
+		endTime = clock.currentTimeMillis();
+		wallNanos = System.nanoTime() - wallStart;
+		if (failure instanceof IOException) {
+			throw (IOException) failure;
+		}
+		if (failure instanceof InterruptedException) {
+			throw (InterruptedException) failure;
+		}
+	}
+
+	private void feed(PassengerSource source) throws IOException, InterruptedException {
+		Passenger passenger = new Passenger();
+		boolean first = true;
+		long offset = 0;
+		while (source.next(passenger)) {
+			if (first) {
+				offset = startTime - passenger.getTime();
+				first = false;
+			}
+			long delay = passenger.getTime() + offset - clock.currentTimeMillis();
+			if (delay > 0) {
+				clock.sleep(delay);
+			}
+			call(passenger);
+		}
+	}
+
+	/**
+	 * make the hall call of one arrival, called by the feeder only
+	 */
+	private void call(Passenger passenger) {
+		int origin = passenger.getOrigin();
+		int destination = passenger.getDestination();
+		int group = passenger.getGroup();
+		if (origin == destination || !inBuilding(origin) || !inBuilding(destination)) {
+			skipped++;
+			return;
+		}
+		long time = clock.currentTimeMillis();
+		CompletableFuture<Elevator> ride;
+		try {
+			ride = system.travel(origin, destination, group);
+		} catch (IllegalArgumentException e) {
+			// no elevator serves both floors or the group does not fit in any of them
+			skipped++;
+			return;
+		}
+		synchronized (lock) {
+			travelling += group;
+		}
+		passengers += group;
+		calls++;
+		// the elevator is held at the origin until the riders are counted, their stop is already queued
+		ride.whenComplete((e, t) -> {
+			if (t == null) {
+				waits.record(clock.currentTimeMillis() - time);
+				synchronized (lock) {
+					board(e.id(), destination, group, time);
+				}
+				return;
+			}
+			failed.addAndGet(group);
+			arrived(group);
+		});
+	}
+
+	private boolean inBuilding(int floor) {
+		return floor >= minFloor && floor <= system.getMaxFloor();
+	}
+
+	/**
+	 * add the call time of a group riding elevator id to floor. caller must hold lock.
+	 */
+	private void board(int id, int floor, int group, long time) {
+		if (id >= callTimes.length) {
+			long[][] grown = new long[id + 1][];
+			System.arraycopy(callTimes, 0, grown, 0, callTimes.length);
+			callTimes = grown;
+		}
+		if (callTimes[id] == null) {
+			callTimes[id] = new long[system.getFloorCount()];
+		}
+		callTimes[id][floor - minFloor] += group * time;
+	}
+
+	private void arrived(long group) {
+		synchronized (lock) {
+			travelling -= group;
+			if (travelling == 0) {
+				lock.notifyAll();
+			}
+		}
+	}
+
+	@Override
+	public void onHallCall(int floor, MovingState direction, int destination, int persons) {
+	}
+
+	@Override
+	public void onAssign(int id, int floor, MovingState direction) {
+	}
+
+	@Override
+	public void onStop(int id, int floor) {
+	}
+
+	/**
+	 * the riders of a stop have got off and are no longer in the load of the elevator
+	 */
+	@Override
+	public void onAlight(int id, int floor, int persons) {
+		synchronized (lock) {
+			if (id < callTimes.length && callTimes[id] != null) {
+				tripTime += persons * clock.currentTimeMillis() - callTimes[id][floor - minFloor];
+				callTimes[id][floor - minFloor] = 0;
+			}
+			trips += persons;
+		}
+		arrived(persons);
+	}
+
+	/**
+	 * @return wait times from hall call to arrival of the elevator, in clock milliseconds
+	 */
+	public LatencyHistogram getWaitTimes() {
+		return waits;
+	}
+
+	/**
+	 * @return persons that were called for
+	 */
+	public long getPassengers() {
+		return passengers;
+	}
+
+	/**
+	 * @return hall calls made, one per group
+	 */
+	public long getCalls() {
+		return calls;
+	}
+
+	/**
+	 * @return arrivals that were not called for, because origin and destination are the same, outside the
+	 *         building or no elevator can carry the group between them
+	 */
+	public long getSkipped() {
+		return skipped;
+	}
+
+	/**
+	 * @return persons whose hall call failed
+	 */
+	public long getFailed() {
+		return failed.get();
+	}
+
+	/**
+	 * @return clock time from the first arrival until the last passenger arrived
+	 */
+	public long getSimulatedMillis() {
+		return endTime - startTime;
+	}
+
+	/**
+	 * @return mean time from hall call to destination, in clock milliseconds
+	 */
+	public double getMeanTripTime() {
+		synchronized (lock) {
+			return trips == 0 ? 0 : (double) tripTime / trips;
+		}
+	}
+
+	/**
+	 * write the statistics of the last run
+	 * @param out - stream to write to
+	 */
+	public void writeSummary(PrintStream out) {
+		out.println("passengers: " + passengers);
+		out.println("hall calls: " + calls);
+		out.println("skipped: " + skipped);
+		out.println("failed: " + failed.get());
+		out.println("simulated ms: " + getSimulatedMillis());
+		out.println("wall ms: " + wallNanos / 1000000);
+		out.println("wait ms mean: " + String.format("%.1f", waits.getMean()));
+		out.println("wait ms p50: " + waits.getValueAtPercentile(50));
+		out.println("wait ms p95: " + waits.getValueAtPercentile(95));
+		out.println("wait ms p99: " + waits.getValueAtPercentile(99));
+		out.println("wait ms max: " + waits.getMax());
+		out.println("trip ms mean: " + String.format("%.1f", getMeanTripTime()));
+		out.println("power: " + system.getPowerConsumed());
+	}
+
+	/**
+	 * replay a trace file under a {@link VirtualClock} and print the summary.
+	 * arguments: trace [elevators] [minFloor] [maxFloor]
+	 * @param args - trace file, 4 elevators and floors 0-20 by default
+	 */
+	public static void main(String[] args) throws IOException, InterruptedException {
+		if (args.length < 1) {
+			System.err.println("usage: TraceRunner trace [elevators] [minFloor] [maxFloor]");
+			System.exit(2);
+		}
+		int elevators = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+		int minFloor = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+		int maxFloor = args.length > 3 ? Integer.parseInt(args[3]) : 20;
+		VirtualClock clock = new VirtualClock();
+		ElevatorSystemImp system = new ElevatorSystemImp(minFloor, maxFloor, clock);
+		for (int id = 0; id < elevators; id++) {
+			system.addElevator(new ElevatorImp(5, system, id, clock));
+		}
+		TraceRunner runner = new TraceRunner(system);
+		system.start();
+		try (TraceReader trace = TraceReader.open(Paths.get(args[0]))) {
+			runner.run(trace);
+		} finally {
+			system.shutdown();
+		}
+		runner.writeSummary(System.out);
+	}
+}
@@ -0,0 +1,153 @@
+package Simulator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+/**
+ * <p>
+ * seeded {@link PassengerSource} generating passengers for a {@link TrafficProfile}. arrivals
+ * follow a Poisson process, the time between two passengers is exponentially distributed around
+ * the mean given by the rate. origin and destination are drawn from the profile, floors other
+ * than the lobby are equally likely.
+ * </p>
+ * <p>
+ * passengers are generated one at a time into the caller's {@link Passenger}, nothing is allocated per
+ * passenger and the same seed always gives the same sequence. an instance must not be shared
+ * between threads, give each thread its own seed instead.
+ * </p>
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public class TrafficGenerator implements PassengerSource {
+
+	private final TrafficProfile profile;
+	private final double meanGap;
+	private final int minFloor;
+	private final int floors;
+	private final int lobby;
+	private final long count;
+	private final SplittableRandom random;
+	private double time;
+	private long generated;
+
+	/**
+	 * generate passengers for a building whose lobby is the floor closest to 0
+	 * @param profile - traffic pattern
+	 * @param perMinute - mean number of passengers arriving per minute
+	 * @param minFloor - lowest floor of the building
+	 * @param maxFloor - highest floor of the building
+	 * @param count - number of passengers to generate, {@link Long#MAX_VALUE} for an endless stream
+	 * @param seed - seed of the random sequence
+	 */
+	public TrafficGenerator(TrafficProfile profile, double perMinute, int minFloor, int maxFloor, long count, long seed) {
+		this(profile, perMinute, minFloor, maxFloor, Math.max(minFloor, Math.min(maxFloor, 0)), count, seed);
+	}
+
+	/**
+	 * @param profile - traffic pattern
+	 * @param perMinute - mean number of passengers arriving per minute
+	 * @param minFloor - lowest floor of the building
+	 * @param maxFloor - highest floor of the building
+	 * @param lobby - floor where passengers enter and leave the building
+	 * @param count - number of passengers to generate, {@link Long#MAX_VALUE} for an endless stream
+	 * @param seed - seed of the random sequence
+	 */
+	public TrafficGenerator(TrafficProfile profile, double perMinute, int minFloor, int maxFloor, int lobby, long count, long seed) {
+		if (profile == null) {
+			throw new NullPointerException("The profile should not be null");
+		}
+		if (!(perMinute > 0) || count < 0) {
+			throw new IllegalArgumentException("The rate should be positive and the count not negative");
+		}
+		if (maxFloor - minFloor < 2 || lobby < minFloor || lobby > maxFloor) {
+			throw new IllegalArgumentException("The building needs 3 floors and the lobby should be one of them");
+		}
+		this.profile = profile;
+		this.meanGap = 60000 / perMinute;
+		this.minFloor = minFloor;
+		this.floors = maxFloor - minFloor + 1;
+		this.lobby = lobby;
+		this.count = count;
+		random = new SplittableRandom(seed);
+	}
+
+	@Override
+	public boolean next(Passenger passenger) {
+		if (generated == count) {
+			return false;
+		}
+		generated++;
+		time -= Math.log(1 - random.nextDouble()) * meanGap;
+		double kind = random.nextDouble();
+		int origin;
+		int destination;
+		if (kind < profile.getIncoming()) {
+			origin = lobby;
+			destination = upperFloor();
+		} else if (kind < profile.getIncoming() + profile.getOutgoing()) {
+			origin = upperFloor();
+			destination = lobby;
+		} else {
+			origin = upperFloor();
+			destination = minFloor + random.nextInt(floors - 2);
+			// skip the lobby and the origin
+			int low = Math.min(origin, lobby);
+			int high = Math.max(origin, lobby);
+			if (destination >= low) {
+				destination++;
+				if (destination >= high) {
+					destination++;
+				}
+			}
+		}
+		passenger.set((long) time, origin, destination, 1);
+		return true;
+	}
+
+	/**
+	 * @return any floor but the lobby
+	 */
+	private int upperFloor() {
+		int floor = minFloor + random.nextInt(floors - 1);
+		return floor >= lobby ? floor + 1 : floor;
+	}
+
+	/**
+	 * @return number of passengers generated so far
+	 */
+	public long getGenerated() {
+		return generated;
+	}
+
+	/**
+	 * write a generated trace in the format read by {@link TraceReader}.
+	 * arguments: profile perMinute count [seed] [minFloor] [maxFloor]
+	 * @param args - seed 1 and floors 0-20 by default
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 3) {
+			System.err.println("usage: TrafficGenerator UP_PEAK|DOWN_PEAK|LUNCH|INTERFLOOR perMinute count [seed] [minFloor] [maxFloor]");
+			System.exit(2);
+		}
+		TrafficProfile profile = TrafficProfile.valueOf(args[0]);
+		double perMinute = Double.parseDouble(args[1]);
+		long count = Long.parseLong(args[2]);
+		long seed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+		int minFloor = args.length > 4 ? Integer.parseInt(args[4]) : 0;
+		int maxFloor = args.length > 5 ? Integer.parseInt(args[5]) : 20;
+		TrafficGenerator generator = new TrafficGenerator(profile, perMinute, minFloor, maxFloor, count, seed);
+		Passenger passenger = new Passenger();
+		Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16);
+		out.write("time,origin,destination,group\n");
+		while (generator.next(passenger)) {
+			out.write(passenger.toString());
+			out.write('\n');
+		}
+		out.flush();
+	}
+}
@@ -0,0 +1,56 @@
+package Simulator;
+
+/**
+ * standard building traffic patterns, each one a mix of passengers arriving at the lobby,
+ * leaving through the lobby and travelling between upper floors.
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public enum TrafficProfile {
+	/**
+	 * {@link TrafficProfile#UP_PEAK} morning arrival, nearly everybody travels from the lobby up.</br>
+	 */
+	UP_PEAK(0.85, 0.05),
+	/**
+	 * {@link TrafficProfile#DOWN_PEAK} evening departure, nearly everybody travels down to the lobby.</br>
+	 */
+	DOWN_PEAK(0.05, 0.85),
+	/**
+	 * {@link TrafficProfile#LUNCH} lunch time, as many leave through the lobby as come back.</br>
+	 */
+	LUNCH(0.45, 0.45),
+	/**
+	 * {@link TrafficProfile#INTERFLOOR} mid-day, most passengers travel between upper floors.</br>
+	 */
+	INTERFLOOR(0.1, 0.1);
+
+	private final double incoming;
+	private final double outgoing;
+
+	private TrafficProfile(double incoming, double outgoing) {
+		this.incoming = incoming;
+		this.outgoing = outgoing;
+	}
+
+	/**
+	 * @return share of passengers travelling from the lobby to an upper floor
+	 */
+	public double getIncoming() {
+		return incoming;
+	}
+
+	/**
+	 * @return share of passengers travelling from an upper floor to the lobby
+	 */
+	public double getOutgoing() {
+		return outgoing;
+	}
+
+	/**
+	 * @return share of passengers travelling between two floors other than the lobby
+	 */
+	public double getInterfloor() {
+		return 1 - incoming - outgoing;
+	}
+}
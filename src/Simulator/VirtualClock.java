@@ -0,0 +1,182 @@
+package Simulator;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>
+ * discrete-event {@link SimulationClock}. time only moves when every tracked task is asleep,
+ * and then it jumps straight to the earliest wake up time. a trip that takes seconds on the
+ * wall clock finishes as fast as the threads can step through it, while each elevator still
+ * sees the same sequence of sleeps.
+ * </p>
+ * <p>
+ * threads that sleep without being inside a tracked task do not hold time back, and do not count
+ * as a sleeping tracked task either, so they cannot let time move while a tracked task is running.
+ * sleeping goes through a {@link ReentrantLock} instead of a monitor so virtual threads
+ * unmount from their carrier while they wait, and {@link ForkJoinPool} workers block as
+ * managed blockers so a shared pool keeps running the tasks time is waiting for.
+ * </p>
+ * 
+ * @author Chenxiao Cui
+ * @version Oct 18, 2026
+ */
+public class VirtualClock implements SimulationClock {
+
+	private final PriorityQueue<Long> deadlines = new PriorityQueue<>();
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition tick = lock.newCondition();
+	private long now;
+	private final ThreadLocal<Boolean> tracked = new ThreadLocal<>();
+	private int active;
+	private int sleeping;
+
+	public VirtualClock() {
+		this(0);
+	}
+
+	/**
+	 * @param start - initial time in milliseconds
+	 */
+	public VirtualClock(long start) {
+		now = start;
+	}
+
+	/**
+	 * current virtual time
+	 * @return time in milliseconds
+	 */
+	@Override
+	public long currentTimeMillis() {
+		lock.lock();
+		try {
+			return now;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * block until virtual time has reached now + millis
+	 * @param millis - virtual time to sleep
+	 */
+	@Override
+	public void sleep(long millis) throws InterruptedException {
+		if (millis < 0) {
+			throw new IllegalArgumentException("The sleep time cannot be negative");
+		}
+		boolean counted = tracked.get() != null;
+		lock.lock();
+		try {
+			long deadline = now + millis;
+			deadlines.add(deadline);
+			if (counted) {
+				sleeping++;
+			}
+			try {
+				advance();
+				if (Thread.currentThread() instanceof ForkJoinWorkerThread) {
+					// a shared work-stealing pool starts a spare worker, queued tracked tasks hold time back
+					ForkJoinPool.managedBlock(new Sleeper(deadline));
+				}
+				while (now < deadline) {
+					tick.await();
+				}
+			} finally {
+				if (counted) {
+					sleeping--;
+				}
+				deadlines.remove(deadline);
+				if (!counted) {
+					// nobody else may be awake to move time on past the deadline of an untracked sleeper
+					advance();
+				}
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * hold virtual time from now until the returned task has finished running. a tracked task run
+	 * by another tracked task on the same thread runs right away and only the outer one counts,
+	 * their thread can only ever be asleep once.
+	 * @param task - task to run
+	 * @return tracked task
+	 */
+	@Override
+	public Runnable track(Runnable task) {
+		if (task == null) {
+			throw new NullPointerException();
+		}
+		lock.lock();
+		try {
+			active++;
+		} finally {
+			lock.unlock();
+		}
+		return () -> {
+			if (tracked.get() != null) {
+				lock.lock();
+				try {
+					active--;
+				} finally {
+					lock.unlock();
+				}
+				task.run();
+				return;
+			}
+			tracked.set(Boolean.TRUE);
+			try {
+				task.run();
+			} finally {
+				tracked.remove();
+				lock.lock();
+				try {
+					active--;
+					advance();
+				} finally {
+					lock.unlock();
+				}
+			}
+		};
+	}
+
+	/**
+	 * move time to the earliest deadline if no tracked task is running anymore. deadlines that are already
+	 * reached belong to threads that have not woken up yet, time waits for them as well.
+	 */
+	private void advance() {
+		if (sleeping >= active && !deadlines.isEmpty() && deadlines.peek() > now) {
+			now = deadlines.peek();
+			tick.signalAll();
+		}
+	}
+
+	/**
+	 * waits for a deadline on behalf of a {@link ForkJoinPool} worker, called with the lock held
+	 */
+	private class Sleeper implements ForkJoinPool.ManagedBlocker {
+		private final long deadline;
+
+		Sleeper(long deadline) {
+			this.deadline = deadline;
+		}
+
+		@Override
+		public boolean block() throws InterruptedException {
+			while (now < deadline) {
+				tick.await();
+			}
+			return true;
+		}
+
+		@Override
+		public boolean isReleasable() {
+			return now >= deadline;
+		}
+	}
+}
@@ -0,0 +1,102 @@
+package Test;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import Elevator.Elevator;
+import ElevatorSystem.ElevatorSystemImp;
+import Simulator.Campus;
+import Simulator.TraceRunner;
+import Simulator.TrafficGenerator;
+import Simulator.TrafficProfile;
+import Simulator.VirtualClock;
+
+public class CampusTest {
+
+	private static final int BUILDINGS = 16;
+
+	private Campus campus;
+	private boolean excep = false;
+
+	@Before
+	public void setUp() throws Exception {
+		campus = new Campus(new VirtualClock());
+		for (int i = 0; i < BUILDINGS; i++) {
+			campus.addBuilding(-2, 20 + i, 2, 5);
+		}
+		campus.start();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		campus.shutdown();
+		campus = null;
+	}
+
+	@Test
+	public void testCallAsync() {
+		// happy path, every building serves its own calls on the shared pool
+		// the floor is read on arrival, the elevator may be sent to the next call right after
+		List<CompletableFuture<Integer>> calls = new ArrayList<>();
+		for (int i = 0; i < BUILDINGS; i++) {
+			calls.add(campus.callUpAsync(i, 10).thenApply(Elevator::getFloor));
+			calls.add(campus.callDownAsync(i, 20 + i).thenApply(Elevator::getFloor));
+			calls.add(campus.callUpAsync(i, -2).thenApply(Elevator::getFloor));
+		}
+		for (int i = 0; i < calls.size(); i++) {
+			int building = i / 3;
+			int floor = i % 3 == 0 ? 10 : i % 3 == 1 ? 20 + building : -2;
+			assertEquals("callAsync() happy path", floor, (int) calls.get(i).join());
+		}
+
+		assertEquals("getBuildingCount()", BUILDINGS, campus.getBuildingCount());
+		assertEquals("getElevatorCount()", BUILDINGS * 2, campus.getElevatorCount());
+		assertEquals("getPendingHallCalls()", 0, campus.getPendingHallCalls());
+		double power = 0;
+		for (int i = 0; i < BUILDINGS; i++) {
+			power += campus.getBuilding(i).getPowerConsumed();
+		}
+		assertEquals("getPowerConsumed()", power, campus.getPowerConsumed(), 0);
+		assertTrue("getPowerConsumed()", power > 0);
+		assertEquals("getWaitTimes()", calls.size(), campus.getWaitTimes().getCount());
+		assertTrue("getWaitTimes() p99", campus.getWaitTimes().getValueAtPercentile(99) > 0);
+
+		// sad path
+		try {
+			campus.callUpAsync(0, 21);
+		} catch (IllegalArgumentException e) {
+			excep = true;
+		}
+		assertTrue("callAsync() sad path", excep);
+	}
+
+	@Test(timeout = 60000)
+	public void testMoreCarsThanCores() throws Exception {
+		// happy path, traffic keeps calling while every car of a building sleeps, more cars than cores
+		int cars = Runtime.getRuntime().availableProcessors() * 2 + 2;
+		Campus busy = new Campus(new VirtualClock());
+		int building = busy.addBuilding(0, 20, cars, 5);
+		TraceRunner runner = new TraceRunner(busy.getBuilding(building));
+		busy.start();
+		runner.run(new TrafficGenerator(TrafficProfile.UP_PEAK, 60, 0, 20, 80, 3));
+		assertEquals("more cars than cores", 80, busy.getWaitTimes(building).getCount());
+		busy.shutdown();
+	}
+
+	@Test
+	public void testShutdown() {
+		ElevatorSystemImp building = campus.getBuilding(0);
+		building.shutdown();
+		// the shared pool keeps serving the other buildings
+		assertEquals("shutdown() one building", 5, (int) campus.callUpAsync(1, 5).thenApply(Elevator::getFloor).join());
+		assertTrue("shutdown() one building", campus.callUpAsync(0, 5).isCompletedExceptionally());
+	}
+
+}
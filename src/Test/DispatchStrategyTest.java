@@ -0,0 +1,191 @@
+package Test;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import Dispatch.DispatchStrategy;
+import Dispatch.EnergyStrategy;
+import Dispatch.EstimatedTimeStrategy;
+import Dispatch.FleetView;
+import Dispatch.LeastLoadedStrategy;
+import Dispatch.NearestCarStrategy;
+import Elevator.Elevator;
+import Elevator.ElevatorImp;
+import Elevator.EnergyCostTable;
+import Elevator.MovingState;
+import ElevatorSystem.ElevatorSystemImp;
+import ElevatorSystem.HallCall;
+import Simulator.VirtualClock;
+
+public class DispatchStrategyTest {
+
+	private Fleet fleet;
+	private List<HallCall> calls;
+	private boolean excep;
+
+	@Before
+	public void setUp() throws Exception {
+		// elevator 0 at floor 2 with 3 passengers, 1 at floor 9 empty, 2 moving to 15
+		fleet = new Fleet(new int[] { 2, 9, 14 }, new int[] { 2, 9, 15 }, new int[] { 3, 0, 0 }, new boolean[] { false, false, true });
+		calls = new ArrayList<>();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		fleet = null;
+		calls = null;
+	}
+
+	@Test
+	public void testNearestCar() {
+		calls.add(call(3));
+		calls.add(call(8));
+		calls.add(call(5));
+		int[] result = new NearestCarStrategy().assign(fleet, calls);
+		assertArrayEquals("NearestCarStrategy happy path", new int[] { 0, 1, DispatchStrategy.NONE }, result);
+	}
+
+	@Test
+	public void testLeastLoaded() {
+		calls.add(call(3));
+		int[] result = new LeastLoadedStrategy().assign(fleet, calls);
+		assertArrayEquals("LeastLoadedStrategy happy path", new int[] { 1 }, result);
+	}
+
+	@Test
+	public void testEstimatedTime() {
+		// elevator 2 reaches 15 soon, the call waits for it
+		calls.add(call(16));
+		calls.add(call(3));
+		int[] result = new EstimatedTimeStrategy().assign(fleet, calls);
+		assertArrayEquals("EstimatedTimeStrategy happy path", new int[] { DispatchStrategy.NONE, 0 }, result);
+	}
+
+	@Test
+	public void testEnergy() {
+		// nearest car serves the oldest call first, energy takes the cheapest pair first
+		calls.add(call(5));
+		calls.add(call(0));
+		assertArrayEquals("NearestCarStrategy batch", new int[] { 0, 1 }, new NearestCarStrategy().assign(fleet, calls));
+		assertArrayEquals("EnergyStrategy happy path", new int[] { 1, 0 }, new EnergyStrategy().assign(fleet, calls));
+	}
+
+	@Test
+	public void testEnergyWaitBound() {
+		// elevator 2 finishes a long leg up to 15, a call at 13 is cheap for it but the wait is long
+		fleet = new Fleet(new int[] { 2, 9, 3 }, new int[] { 2, 9, 15 }, new int[] { 0, 0, 0 }, new boolean[] { false, false, true });
+		EnergyCostTable table = new EnergyCostTable(0, 20);
+		calls.add(call(13));
+		assertTrue("cheaper to wait", table.power(MovingState.Idle, 15, 13) < table.power(MovingState.Idle, 9, 13));
+		assertArrayEquals("free elevators only", new int[] { 1 }, new EnergyStrategy().assign(fleet, calls));
+		assertArrayEquals("waits for the cheapest elevator", new int[] { DispatchStrategy.NONE }, new EnergyStrategy(table, 10000).assign(fleet, calls));
+		assertArrayEquals("bound skips the slow elevator", new int[] { 1 }, new EnergyStrategy(table, 2000).assign(fleet, calls));
+
+		// the call has waited past the bound already, the fastest elevator goes
+		fleet.now = 12000;
+		assertArrayEquals("late call happy path", new int[] { 1 }, new EnergyStrategy(table, 10000).assign(fleet, calls));
+
+		// sad path
+		try {
+			new EnergyStrategy(table, -1);
+		} catch (IllegalArgumentException e) {
+			excep = true;
+		}
+		assertTrue("EnergyStrategy sad path", excep);
+	}
+
+	@Test
+	public void testZones() {
+		// elevator 0 only serves the low zone, the call at 12 skips it
+		fleet.zone(0, 0, 5);
+		calls.add(call(12));
+		calls.add(call(3));
+		assertArrayEquals("zoned happy path", new int[] { 1, 0 }, new NearestCarStrategy().assign(fleet, calls));
+
+		// a call no free elevator serves does not hold back later calls
+		fleet.zone(1, 0, 10);
+		assertArrayEquals("zoned sad path", new int[] { DispatchStrategy.NONE, 0 }, new NearestCarStrategy().assign(fleet, calls));
+		assertArrayEquals("zoned sad path", new int[] { DispatchStrategy.NONE, 0 }, new EnergyStrategy().assign(fleet, calls));
+	}
+
+	@Test
+	public void testSetDispatchStrategy() {
+		VirtualClock clock = new VirtualClock();
+		ElevatorSystemImp system = new ElevatorSystemImp(0, 20, clock);
+		ElevatorImp elevator1 = new ElevatorImp(5, system, 0, clock);
+		ElevatorImp elevator2 = new ElevatorImp(5, system, 1, clock);
+		system.addElevator(elevator1);
+		system.addElevator(elevator2);
+		elevator1.addPersons(2);
+
+		// happy path
+		system.setDispatchStrategy(new LeastLoadedStrategy());
+		Elevator result = system.callUp(4);
+		assertEquals("setDispatchStrategy() happy path", 1, result.id());
+
+		// sad path
+		try {
+			system.setDispatchStrategy(null);
+		} catch (NullPointerException e) {
+			excep = true;
+		}
+		assertTrue("setDispatchStrategy() sad path", excep);
+	}
+
+	private HallCall call(int floor) {
+		return new HallCall(floor, MovingState.Up, 0);
+	}
+
+	/**
+	 * fixed fleet state for the strategies
+	 */
+	private static class Fleet implements FleetView {
+		private final int[] floors;
+		private final int[] targets;
+		private final int[] loads;
+		private final boolean[] moving;
+		private final int[] lows;
+		private final int[] highs;
+		private long now;
+
+		Fleet(int[] floors, int[] targets, int[] loads, boolean[] moving) {
+			this.floors = floors;
+			this.targets = targets;
+			this.loads = loads;
+			this.moving = moving;
+			lows = new int[floors.length];
+			highs = new int[floors.length];
+			Arrays.fill(highs, Integer.MAX_VALUE);
+		}
+
+		void zone(int id, int low, int high) {
+			lows[id] = low;
+			highs[id] = high;
+		}
+
+		public int size() { return floors.length; }
+		public boolean exists(int id) { return true; }
+		public boolean isFree(int id) { return !moving[id]; }
+		public boolean isMoving(int id) { return moving[id]; }
+		public boolean serves(int id, int floor) { return floor >= lows[id] && floor <= highs[id]; }
+		public int floor(int id) { return floors[id]; }
+		public int target(int id) { return targets[id]; }
+		public MovingState state(int id) { return moving[id] ? MovingState.Up : MovingState.Idle; }
+		public int pendingStops(int id) { return 0; }
+		public int load(int id) { return loads[id]; }
+		public boolean isFull(int id) { return loads[id] >= 5; }
+		public int room(int id) { return 5 - loads[id]; }
+		public boolean accepts(int id, HallCall call) {
+			return serves(id, call.getFloor()) && serves(id, call.getDestination()) && room(id) >= call.getPersons();
+		}
+		public double powerConsumed(int id) { return 0; }
+		public long time() { return now; }
+	}
+}
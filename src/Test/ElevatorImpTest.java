@@ -7,9 +7,12 @@ import org.junit.Before;
 import org.junit.Test;
 
 import Elevator.Elevator;
+import Elevator.EnergyCostTable;
 import Elevator.ElevatorImp;
+import Elevator.MovingState;
 import ElevatorSystem.ElevatorPanel;
 import ElevatorSystem.ElevatorSystemImp;
+import Simulator.VirtualClock;
 
 public class ElevatorImpTest {
 
@@ -41,6 +44,32 @@ public class ElevatorImpTest {
 		assertTrue(excep);
 	}
 
+	@Test
+	public void testAddListener() {
+		// happy path
+		VirtualClock clock = new VirtualClock();
+		ElevatorImp fast = new ElevatorImp(10, panel, 3, clock);
+		int[] last = new int[5];
+		fast.addListener((id, floor, target, power, state) -> {
+			last[0] = id;
+			last[1] = floor;
+			last[2] = target;
+			last[3] = power;
+			last[4]++;
+			assertEquals(floor == target, state == MovingState.Idle);
+		});
+		fast.moveTo(4);
+		assertArrayEquals("addListener() happy path", new int[] { 3, 4, 4, 6, 5 }, last);
+
+		// sad path
+		try {
+			fast.addListener(null);
+		} catch (NullPointerException e) {
+			excep = true;
+		}
+		assertTrue(excep);
+	}
+
 	@Test
 	public void testAddPersons() {
 		//happy path
@@ -57,6 +86,43 @@ public class ElevatorImpTest {
 	}
 	
 
+	@Test
+	public void testRemovePersons() {
+		//happy path
+		elevator.addPersons(5);
+		elevator.removePersons(3);
+		assertEquals("Removed right person number.", 2, elevator.getCapacity());
+		assertFalse(elevator.isFull());
+		
+		//sad path
+		try {
+			elevator.removePersons(3);
+		}catch(IllegalArgumentException e) {
+			excep = true;
+		}
+		assertTrue(excep);
+	}
+
+	@Test
+	public void testRestore() {
+		//happy path, an elevator restored in motion continues like the cost table says
+		ElevatorImp moving = new ElevatorImp(10, panel, 1, false, new VirtualClock());
+		moving.restore(5, MovingState.Up, 3, 10);
+		assertEquals("Restored floor.", 5, moving.getFloor());
+		assertEquals("Restored load.", 3, moving.getCapacity());
+		moving.moveTo(8);
+		assertEquals("Continued the move.", 10 + new EnergyCostTable(0, 20).power(MovingState.Up, 5, 8), moving.getPowerConsumed(), 0);
+		assertEquals(MovingState.Idle, moving.getState());
+		
+		//sad path
+		try {
+			moving.restore(5, MovingState.Idle, 11, 0);
+		}catch(IllegalArgumentException e) {
+			excep = true;
+		}
+		assertTrue(excep);
+	}
+
 	@Test
 	public void testIsFull() {
 		elevator.addPersons(10);		
@@ -1,9 +1,16 @@
 package Test;
 
 import static org.junit.Assert.*;
+import static org.junit.Assume.assumeNoException;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.junit.After;
 import org.junit.Before;
@@ -12,8 +19,12 @@ import org.junit.Test;
 import Elevator.Elevator;
 import Elevator.ElevatorImp;
 import Elevator.MovingState;
+import ElevatorSystem.DispatchListener;
 import ElevatorSystem.ElevatorPanel;
 import ElevatorSystem.ElevatorSystemImp;
+import ElevatorSystem.ExecutionMode;
+import ElevatorSystem.RoutingMode;
+import Simulator.VirtualClock;
 
 public class ElevatorSystemImpTest {
 
@@ -71,6 +82,70 @@ public class ElevatorSystemImpTest {
 		assertTrue("callDown() sad path",excep);
 	}
 
+	@Test
+	public void testCallUpAsync() throws Exception {
+		VirtualClock clock = new VirtualClock();
+		ElevatorSystemImp async = new ElevatorSystemImp(0, 20, clock);
+		Elevator elevator = new ElevatorImp(1, async, 0, clock);
+		async.addElevator(elevator);
+
+		// happy path, second call waits in the queue until the first one is served
+		CompletableFuture<Elevator> first = async.callUpAsync(5);
+		CompletableFuture<Elevator> second = async.callDownAsync(12);
+		assertEquals("callUpAsync() queued", 2, async.getPendingHallCalls());
+		async.start();
+		assertEquals("callUpAsync() happy path", 0, first.get(5, TimeUnit.SECONDS).id());
+		second.get(5, TimeUnit.SECONDS);
+		assertEquals("callDownAsync() happy path", 12, elevator.getFloor());
+
+		// sad path, calls after shutdown are rejected
+		async.shutdown();
+		CompletableFuture<Elevator> rejected = async.callUpAsync(3);
+		try {
+			rejected.join();
+		} catch (CompletionException e) {
+			excep = true;
+		}
+		assertTrue("callUpAsync() sad path", excep);
+	}
+
+	@Test
+	public void testCallUpAsyncTimeout() throws Exception {
+		CompletableFuture<Elevator> call = system.callUpAsync(10, 50, TimeUnit.MILLISECONDS);
+		try {
+			call.get(5, TimeUnit.SECONDS);
+		} catch (ExecutionException e) {
+			excep = e.getCause() instanceof TimeoutException;
+		}
+		assertTrue("callUpAsync() timeout", excep);
+
+		CompletableFuture<Elevator> cancelled = system.callDownAsync(10);
+		cancelled.cancel(false);
+		system.start();
+		Thread.sleep(100);
+		assertEquals("callDownAsync() cancel", 0, system.getPendingHallCalls());
+		assertEquals("callDownAsync() cancel", 0, elevator1.getFloor());
+		system.shutdown();
+	}
+
+	@Test
+	public void testExecutionMode() throws Exception {
+		VirtualClock clock = new VirtualClock();
+		ElevatorSystemImp virtual = null;
+		try {
+			virtual = new ElevatorSystemImp(0, 20, clock, ExecutionMode.VIRTUAL);
+		} catch (UnsupportedOperationException e) {
+			// JVM before Java 21, reported as skipped
+			assumeNoException(e);
+		}
+		Elevator elevator = new ElevatorImp(1, virtual, 0, clock);
+		virtual.addElevator(elevator);
+		virtual.start();
+		assertEquals("VIRTUAL happy path", 0, virtual.callUpAsync(7).get(5, TimeUnit.SECONDS).id());
+		assertEquals("VIRTUAL happy path", 7, elevator.getFloor());
+		virtual.shutdown();
+	}
+
 	@Test
 	public void testGAE() {	
 		elevator1.moveTo(15);
@@ -84,8 +159,8 @@ public class ElevatorSystemImpTest {
 		//happy path
 		Elevator elevator3 = new ElevatorImp(1, (ElevatorPanel) system, 2);
 		system.addElevator(elevator3);
-		Map<Elevator, List<Integer>> elevators = system.getStops();		
-		assertEquals("addElevator() happy path",3,elevators.size());
+		assertEquals("addElevator() happy path",3,system.getElevatorCount());
+		assertEquals("addElevator() happy path",0,system.getStops(elevator3).length);
 		
 		//sad path
 		Elevator elevator4 = null;
@@ -104,8 +179,159 @@ public class ElevatorSystemImpTest {
 	}
 
 	@Test
-	public void testStart() {
-		
+	public void testTravel() throws Exception {
+		VirtualClock clock = new VirtualClock();
+		ElevatorSystemImp riding = new ElevatorSystemImp(0, 20, clock);
+		Elevator first = new ElevatorImp(4, riding, 0, clock);
+		Elevator second = new ElevatorImp(4, riding, 1, clock);
+		riding.addElevator(first);
+		riding.addElevator(second);
+		riding.start();
+
+		// happy path, a full elevator is skipped even though it is as close
+		first.addPersons(4);
+		assertEquals("callUp() skips full elevator", 1, riding.callUp(3).id());
+		first.removePersons(4);
+
+		// happy path, riders board at the call and get off at their stop, the load is only checked
+		// once the system says they got off, the elevator leaves as soon as the future completes
+		CompletableFuture<String> alighted = new CompletableFuture<>();
+		riding.addDispatchListener(new DispatchListener() {
+			@Override
+			public void onHallCall(int floor, MovingState direction, int destination, int persons) {
+			}
+
+			@Override
+			public void onAssign(int id, int floor, MovingState direction) {
+			}
+
+			@Override
+			public void onStop(int id, int floor) {
+			}
+
+			@Override
+			public void onAlight(int id, int floor, int persons) {
+				alighted.complete(id + "," + floor + "," + persons);
+			}
+		});
+		Elevator ride = riding.travel(0, 8, 3).get(5, TimeUnit.SECONDS);
+		assertEquals("travel() happy path", 0, ride.id());
+		assertEquals("travel() boarded and got off", "0,8,3", alighted.get(5, TimeUnit.SECONDS));
+		assertEquals("travel() arrived", 8, ride.getFloor());
+		assertTrue("travel() got off", ride.isEmpty());
+
+		// happy path, the closer elevator has no room for the whole group
+		second.addPersons(2);
+		Elevator group = riding.travel(4, 10, 3).get(5, TimeUnit.SECONDS);
+		assertEquals("travel() room for the group", 0, group.id());
+
+		// sad path
+		try {
+			riding.travel(0, 5, 5);
+		} catch (IllegalArgumentException e) {
+			excep = true;
+		}
+		assertTrue("travel() sad path", excep);
+		riding.shutdown();
+	}
+
+	@Test
+	public void testStart() throws InterruptedException {
+		VirtualClock clock = new VirtualClock();
+		ElevatorSystemImp started = new ElevatorSystemImp(0, 20, clock);
+		Elevator elevator = new ElevatorImp(1, started, 0, clock);
+		started.addElevator(elevator);
+		started.setCallDirection(MovingState.Up);
+		elevator.requestStops(5, 8);
+		Thread.sleep(100);
+		assertEquals("start() nothing moves before start", 0, elevator.getFloor());
+
+		started.start();
+		for (int i = 0; i < 100 && elevator.getFloor() != 8; i++) {
+			Thread.sleep(10);
+		}
+		assertEquals("start() happy path", 8, elevator.getFloor());
+		started.shutdown();
+	}
+
+	@Test
+	public void testRoutingMode() throws InterruptedException {
+		VirtualClock clock = new VirtualClock();
+		ElevatorSystemImp look = new ElevatorSystemImp(0, 20, clock);
+		Elevator elevator = new ElevatorImp(1, look, 0, clock);
+		look.addElevator(elevator);
+		look.setRoutingMode(RoutingMode.LOOK);
+		List<Integer> served = new ArrayList<>();
+		elevator.addObserver((o, arg) -> {
+			List<?> step = (List<?>) arg;
+			if (step.get(1).equals(step.get(2))) {
+				served.add((Integer) step.get(1));
+			}
+		});
+
+		// stops on the way are merged into the sweep instead of served in request order
+		elevator.requestStop(2);
+		elevator.requestStop(8);
+		elevator.requestStop(5);
+		look.start();
+		for (int i = 0; i < 100 && served.size() < 3; i++) {
+			Thread.sleep(10);
+		}
+		assertEquals("setRoutingMode() LOOK", Arrays.asList(2, 5, 8), served);
+		assertEquals("setRoutingMode() LOOK power", 14, elevator.getPowerConsumed(), 0);
+		look.shutdown();
+
+		// sad path
+		try {
+			look.setRoutingMode(null);
+		} catch (NullPointerException e) {
+			excep = true;
+		}
+		assertTrue("setRoutingMode() sad path", excep);
+	}
+
+	@Test
+	public void testZonedElevators() {
+		VirtualClock clock = new VirtualClock();
+		ElevatorSystemImp tower = new ElevatorSystemImp(-3, 150, clock);
+		Elevator low = new ElevatorImp(5, tower, 0, -3, 40, false, clock);
+		Elevator high = new ElevatorImp(5, tower, 1, 41, 150, false, clock);
+		tower.addElevator(low);
+		tower.addElevator(high);
+		assertEquals("zoned start floor", 0, low.getFloor());
+		assertEquals("zoned start floor", 41, high.getFloor());
+
+		// happy path, the high zone elevator is closer but does not serve floor 30
+		assertEquals("zoned callUp() happy path", 0, tower.callUp(30).id());
+		assertEquals("zoned callDown() happy path", 1, tower.callDown(150).id());
+		assertEquals("zoned callUp() basement", 0, tower.callUp(-3).id());
+		assertEquals("zoned floor count", 154, tower.getFloorCount());
+
+		// sad path
+		try {
+			tower.callUp(151);
+		} catch (IllegalArgumentException e) {
+			excep = true;
+		}
+		assertTrue("zoned callUp() sad path", excep);
+
+		excep = false;
+		try {
+			high.requestStop(40);
+		} catch (IllegalArgumentException e) {
+			excep = true;
+		}
+		assertTrue("zoned requestStop() sad path", excep);
+		assertEquals("zoned requestStop() sad path", 0, tower.getStops(high).length);
+
+		excep = false;
+		try {
+			tower.addElevator(new ElevatorImp(5, tower, 2, -4, 10, false, clock));
+		} catch (IllegalArgumentException e) {
+			excep = true;
+		}
+		assertTrue("zoned addElevator() sad path", excep);
+		tower.shutdown();
 	}
 
 	@Test
@@ -114,9 +340,12 @@ public class ElevatorSystemImpTest {
 		int[] floors = {2,6,10,8};
 		system.setCallDirection(MovingState.Up);
 		system.requestStops(elevator1, floors);
-		Map<Elevator, List<Integer>> stops = system.getStops();
-		List<Integer> list = stops.get(elevator1);
-		assertEquals("requestStops() happy path",(Integer)10,list.get(3));
+		int[] list = system.getStops(elevator1);
+		assertEquals("requestStops() happy path",10,list[3]);
+
+		// duplicate floors are only stored once
+		system.requestStops(elevator1, 6, 12, 2);
+		assertArrayEquals("requestStops() duplicates", new int[] {2,6,8,10,12}, system.getStops(elevator1));
 		
 		//sad path
 		try {
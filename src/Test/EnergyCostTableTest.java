@@ -0,0 +1,72 @@
+package Test;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import Elevator.ElevatorImp;
+import Elevator.ElevatorListener;
+import Elevator.EnergyCostTable;
+import Elevator.MovingState;
+import Simulator.VirtualClock;
+
+public class EnergyCostTableTest {
+
+	private boolean excep = false;
+
+	@Test
+	public void testIdleMoves() {
+		// happy path, every idle move costs what the elevator really spends
+		EnergyCostTable table = new EnergyCostTable(-3, 12);
+		ElevatorImp elevator = new ElevatorImp(1, null, 0, -3, 12, false, new VirtualClock());
+		int[] steps = new int[1];
+		elevator.addListener((id, floor, target, power, state) -> steps[0]++);
+		for (int from = -3; from <= 12; from++) {
+			for (int to = -3; to <= 12; to++) {
+				elevator.moveTo(from);
+				double power = elevator.getPowerConsumed();
+				steps[0] = 0;
+				elevator.moveTo(to);
+				assertEquals("power " + from + "-" + to, (int) (elevator.getPowerConsumed() - power), table.power(MovingState.Idle, from, to));
+				assertEquals("steps " + from + "-" + to, steps[0], table.steps(MovingState.Idle, from, to));
+			}
+		}
+		assertEquals("travel time", 6 * ElevatorImp.SLEEP_CONTINOUS, table.travelTime(MovingState.Idle, 0, 5));
+	}
+
+	@Test
+	public void testMovingStates() {
+		// happy path, the rest of a move seen from each step costs what is left
+		EnergyCostTable table = new EnergyCostTable(0, 20);
+		ElevatorImp elevator = new ElevatorImp(1, null, 0, false, new VirtualClock());
+		int[][] seen = new int[40][];
+		int[] count = new int[1];
+		ElevatorListener listener = (id, floor, target, power, state) -> seen[count[0]++] = new int[] { floor, target, power, state.ordinal() };
+		elevator.addListener(listener);
+		elevator.moveTo(17);
+		elevator.moveTo(4);
+		for (int i = 0; i < count[0]; i++) {
+			int[] step = seen[i];
+			int end = i;
+			while (seen[end][0] != step[1]) {
+				end++;
+			}
+			MovingState state = MovingState.values()[step[3]];
+			assertEquals("rest of move " + i, seen[end][2] - step[2], table.power(state, step[0], step[1]));
+			assertEquals("steps left " + i, end - i, table.steps(state, step[0], step[1]));
+		}
+		// an elevator going the wrong way overshoots, stops and comes back
+		assertEquals("turn around", ElevatorImp.POWER_CONTINOUS + ElevatorImp.POWER_START_STOP
+				+ table.power(MovingState.Idle, 7, 3), table.power(MovingState.Up, 5, 3));
+		assertEquals("off", EnergyCostTable.UNREACHABLE, table.power(MovingState.Off, 5, 3));
+		assertEquals("off arrived", 0, table.power(MovingState.Off, 5, 5));
+
+		// sad path
+		try {
+			table.power(MovingState.Idle, 0, 21);
+		} catch (IllegalArgumentException e) {
+			excep = true;
+		}
+		assertTrue("power() sad path", excep);
+	}
+}
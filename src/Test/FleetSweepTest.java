@@ -0,0 +1,144 @@
+package Test;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import Dispatch.DispatchPolicy;
+import Simulator.FleetSweep;
+import Simulator.FleetSweep.Configuration;
+import Simulator.FleetSweep.Result;
+import Simulator.TrafficProfile;
+
+public class FleetSweepTest {
+
+	private boolean excep = false;
+
+	@Test
+	public void testGrid() {
+		// happy path
+		List<Configuration> grid = FleetSweep.grid(new int[] { 1, 2 }, new int[] { 5, 10 }, new int[][] { { 0, 10 }, { -2, 20 } },
+				DispatchPolicy.values());
+		assertEquals("grid() happy path", 2 * 2 * 2 * DispatchPolicy.values().length, grid.size());
+		assertEquals("grid() happy path", "1x5 0:10 NEAREST_CAR", grid.get(0).toString());
+		assertEquals("grid() happy path", -2, grid.get(grid.size() - 1).getMinFloor());
+		// sad path
+		try {
+			new Configuration(0, 5, 0, 10, DispatchPolicy.ENERGY);
+		} catch (IllegalArgumentException e) {
+			excep = true;
+		}
+		assertTrue("Configuration() sad path", excep);
+		excep = false;
+		try {
+			new Configuration(2, 5, 0, 10, null);
+		} catch (NullPointerException e) {
+			excep = true;
+		}
+		assertTrue("Configuration() sad path", excep);
+	}
+
+	@Test
+	public void testRun() throws Exception {
+		// happy path
+		FleetSweep sweep = new FleetSweep(TrafficProfile.UP_PEAK, 30, 60, 7, 2);
+		List<Configuration> grid = FleetSweep.grid(new int[] { 1, 3 }, new int[] { 8 }, new int[][] { { 0, 12 } },
+				DispatchPolicy.NEAREST_CAR, DispatchPolicy.ENERGY);
+		List<Result> results = sweep.run(grid);
+		assertEquals("run() happy path", grid.size(), results.size());
+		for (int i = 0; i < grid.size(); i++) {
+			assertSame("run() keeps order", grid.get(i), results.get(i).getConfiguration());
+			assertEquals("run() happy path", 60, results.get(i).getPassengers() + results.get(i).getSkipped());
+			assertTrue("run() happy path", results.get(i).getPowerConsumed() > 0);
+		}
+		// the same seeded traffic gives the same run in a sweep and alone
+		Result alone = sweep.simulate(grid.get(0));
+		assertEquals("simulate() deterministic", results.get(0).getMeanWait(), alone.getMeanWait(), 0);
+		assertEquals("simulate() deterministic", results.get(0).getPowerConsumed(), alone.getPowerConsumed(), 0);
+		// three cars wait less than one
+		assertTrue("run() happy path", results.get(2).getMeanWait() < results.get(0).getMeanWait());
+		// sad path
+		try {
+			new FleetSweep(TrafficProfile.LUNCH, 0, 10, 1);
+		} catch (IllegalArgumentException e) {
+			excep = true;
+		}
+		assertTrue("FleetSweep() sad path", excep);
+	}
+
+	@Test(timeout = 60000)
+	public void testMoreCarsThanParallelism() throws Exception {
+		// happy path, every moving car needs a thread of its own, a sweep on one core must not run out of them
+		FleetSweep sweep = new FleetSweep(TrafficProfile.UP_PEAK, 60, 80, 3, 1);
+		List<Configuration> grid = FleetSweep.grid(new int[] { 6 }, new int[] { 5 }, new int[][] { { 0, 20 } },
+				DispatchPolicy.NEAREST_CAR, DispatchPolicy.ESTIMATED_TIME);
+		List<Result> results = sweep.run(grid);
+		for (Result result : results) {
+			assertEquals("run() more cars than parallelism", 80, result.getPassengers() + result.getSkipped());
+		}
+		assertEquals("simulate() more cars than parallelism", results.get(0).getMeanWait(), sweep.simulate(grid.get(0)).getMeanWait(), 0);
+	}
+
+	@Test
+	public void testParetoFront() throws Exception {
+		// happy path
+		FleetSweep sweep = new FleetSweep(TrafficProfile.INTERFLOOR, 20, 40, 3, 1);
+		List<Result> results = sweep.run(FleetSweep.grid(new int[] { 1, 2, 3 }, new int[] { 4 }, new int[][] { { 0, 10 } },
+				DispatchPolicy.values()));
+		List<Result> front = FleetSweep.paretoFront(results);
+		assertFalse("paretoFront() happy path", front.isEmpty());
+		for (int i = 1; i < front.size(); i++) {
+			assertTrue("paretoFront() sorted by wait", front.get(i).getMeanWait() >= front.get(i - 1).getMeanWait());
+			assertTrue("paretoFront() power falls", front.get(i).getPowerConsumed() < front.get(i - 1).getPowerConsumed());
+		}
+		for (Result result : results) {
+			for (Result best : front) {
+				assertFalse("paretoFront() nothing dominates the front", result.getMeanWait() <= best.getMeanWait()
+						&& result.getPowerConsumed() < best.getPowerConsumed());
+			}
+		}
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		FleetSweep.writeTable(front, new PrintStream(bytes, true));
+		String[] lines = bytes.toString().split("\\R");
+		assertEquals("writeTable() one row per result", front.size() + 1, lines.length);
+		assertTrue("writeTable() header", lines[0].contains("wait mean"));
+		// sad path
+		assertTrue("paretoFront() empty", FleetSweep.paretoFront(Arrays.<Result> asList()).isEmpty());
+	}
+
+	@Test
+	public void testParse() {
+		// happy path
+		assertArrayEquals("parseInts() list", new int[] { 2, 4, 6 }, FleetSweep.parseInts("2,4,6"));
+		assertArrayEquals("parseInts() range", new int[] { -3, -2, -1, 0 }, FleetSweep.parseInts("-3-0"));
+		assertArrayEquals("parseInts() both", new int[] { -2, -1, 5, 7, 8 }, FleetSweep.parseInts("-2--1,5,7-8"));
+		assertArrayEquals("parseFloors()", new int[][] { { -2, 20 }, { 0, 40 } }, FleetSweep.parseFloors("-2:20,0:40"));
+
+		// sad path
+		try {
+			FleetSweep.parseInts("5-2");
+		} catch (IllegalArgumentException e) {
+			excep = true;
+		}
+		assertTrue("parseInts() sad path", excep);
+		excep = false;
+		try {
+			FleetSweep.parseInts("2,,4");
+		} catch (IllegalArgumentException e) {
+			excep = true;
+		}
+		assertTrue("parseInts() sad path", excep);
+		excep = false;
+		try {
+			FleetSweep.parseFloors("0:20,40");
+		} catch (IllegalArgumentException e) {
+			excep = true;
+		}
+		assertTrue("parseFloors() sad path", excep);
+	}
+}
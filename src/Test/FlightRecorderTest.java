@@ -0,0 +1,78 @@
+package Test;
+
+import static org.junit.Assert.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import Elevator.Elevator;
+import Elevator.ElevatorImp;
+import ElevatorSystem.ElevatorSystemImp;
+import Simulator.VirtualClock;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class FlightRecorderTest {
+
+	@Test
+	public void testEvents() throws Exception {
+		VirtualClock clock = new VirtualClock();
+		ElevatorSystemImp system = new ElevatorSystemImp(0, 20, clock);
+		Elevator first = new ElevatorImp(1, system, 0, clock);
+		Elevator second = new ElevatorImp(1, system, 1, clock);
+		system.addElevator(first);
+		system.addElevator(second);
+		system.start();
+
+		Path file = Files.createTempFile("elevator", ".jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable("ElevatorEmulator.Move");
+			recording.enable("ElevatorEmulator.StateChange");
+			recording.enable("ElevatorEmulator.Dispatch");
+			recording.enable("ElevatorEmulator.RequestLock").withThreshold(Duration.ZERO);
+			recording.start();
+			system.callUpAsync(6).get(5, TimeUnit.SECONDS);
+			system.GAE(3);
+			recording.stop();
+			recording.dump(file);
+		}
+		system.shutdown();
+
+		List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+		Files.delete(file);
+		Map<String, Integer> counts = new HashMap<>();
+		RecordedEvent move = null;
+		RecordedEvent dispatch = null;
+		for (RecordedEvent event : events) {
+			String name = event.getEventType().getName();
+			counts.merge(name, 1, Integer::sum);
+			if (name.equals("ElevatorEmulator.Move")) {
+				move = event;
+			} else if (name.equals("ElevatorEmulator.Dispatch") && dispatch == null) {
+				dispatch = event;
+			}
+		}
+
+		// happy path, one move from 0 to 6 through Idle, SlowUp, Up, SlowUp, Idle
+		assertEquals("moves", Integer.valueOf(1), counts.get("ElevatorEmulator.Move"));
+		assertEquals("move from", 0, move.getInt("from"));
+		assertEquals("move to", 6, move.getInt("to"));
+		assertEquals("move power", (int) first.getPowerConsumed(), move.getInt("power"));
+		assertEquals("states", Integer.valueOf(4), counts.get("ElevatorEmulator.StateChange"));
+
+		// happy path, both cars were candidates for the first call, the nearest took it
+		assertEquals("decisions", Integer.valueOf(2), counts.get("ElevatorEmulator.Dispatch"));
+		assertEquals("candidates", 2, dispatch.getInt("candidates"));
+		assertEquals("chosen", 0, dispatch.getInt("elevator"));
+		assertEquals("floor", 6, dispatch.getInt("floor"));
+		assertTrue("lock holds", counts.get("ElevatorEmulator.RequestLock") >= 3);
+	}
+}
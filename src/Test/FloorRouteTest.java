@@ -0,0 +1,62 @@
+package Test;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import Elevator.FloorRoute;
+
+public class FloorRouteTest {
+
+	private FloorRoute route;
+	private int[] toBeSorted;
+	private boolean excep = false;
+
+	@Before
+	public void setUp() throws Exception {
+		route = new FloorRoute(0, 100);
+		toBeSorted = new int[] { 3, 2, 4, 6, 20, 8, 7, 4, 99, 64, 3 };
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		route = null;
+		toBeSorted = null;
+	}
+
+	@Test
+	public void testSort() {
+		// happy path
+		assertArrayEquals("sort happy path", new int[] { 2, 3, 4, 6, 7, 8, 20, 64, 99 }, route.sort(toBeSorted, true));
+		assertArrayEquals("sort happy path", new int[] { 99, 64, 20, 8, 7, 6, 4, 3, 2 }, route.sort(toBeSorted, false));
+		assertEquals("sort happy path", 3, toBeSorted[0]);
+		assertEquals("sort happy path", 0, route.sort(new int[0], true).length);
+
+		// sad path
+		try {
+			route.sort(new int[] { 5, 101 }, true);
+		} catch (IllegalArgumentException e) {
+			excep = true;
+		}
+		assertTrue("sort sad path", excep);
+		assertArrayEquals("sort sad path", new int[] { 5 }, route.sort(new int[] { 5 }, true));
+
+		excep = false;
+		try {
+			route.sort(null, true);
+		} catch (NullPointerException e) {
+			excep = true;
+		}
+		assertTrue("sort sad path", excep);
+	}
+
+	@Test
+	public void testNegativeFloors() {
+		FloorRoute basement = new FloorRoute(-3, 5);
+		assertArrayEquals("negative floors", new int[] { -3, -1, 0, 5 }, basement.sort(new int[] { 5, -1, -3, 0, -1 }, true));
+		assertArrayEquals("negative floors", new int[] { 5, 0, -1, -3 }, basement.sort(new int[] { 5, -1, -3, 0, -1 }, false));
+	}
+
+}
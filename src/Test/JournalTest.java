@@ -0,0 +1,126 @@
+package Test;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import Elevator.ElevatorImp;
+import Elevator.MovingState;
+import ElevatorSystem.ElevatorSystemImp;
+import Journal.EventJournal;
+import Journal.EventType;
+import Journal.JournalEvent;
+import Journal.JournalReader;
+import Simulator.VirtualClock;
+
+public class JournalTest {
+
+	private Path directory;
+	private VirtualClock clock;
+	private ElevatorSystemImp system;
+	private ElevatorImp elevator;
+	private boolean excep = false;
+
+	@Before
+	public void setUp() throws Exception {
+		directory = Files.createTempDirectory("journal");
+		clock = new VirtualClock();
+		system = new ElevatorSystemImp(0, 20, clock);
+		elevator = new ElevatorImp(5, system, 0, clock);
+		system.addElevator(elevator);
+		system.setCallDirection(MovingState.Up);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		system.shutdown();
+		try (Stream<Path> files = Files.list(directory)) {
+			files.forEach(file -> file.toFile().delete());
+		}
+		Files.delete(directory);
+	}
+
+	@Test
+	public void testJournal() throws IOException, InterruptedException {
+		// 16 records per segment, so the run rolls over two segments
+		EventJournal journal = new EventJournal(directory, clock, 16);
+		journal.attach(system);
+		system.start();
+		assertEquals("callUp() happy path", 0, system.callUp(5).id());
+		elevator.requestStops(8, 2);
+		for (int i = 0; i < 100 && elevator.getFloor() != 8; i++) {
+			Thread.sleep(10);
+		}
+		// the elevator, hall call, assignment, 2 stops and 6 + 4 + 7 steps
+		assertEquals("getRecords() happy path", 22, journal.getRecords());
+		int power = (int) elevator.getPowerConsumed();
+		journal.close();
+		elevator.requestStop(3);
+		assertTrue("closed journal drops", journal.getDropped() > 0);
+		try (Stream<Path> files = Files.list(directory)) {
+			assertEquals("rolling segments", 2, files.count());
+		}
+
+		Map<EventType, Integer> counts = new EnumMap<>(EventType.class);
+		JournalEvent event = new JournalEvent();
+		long sequence = -1;
+		try (JournalReader reader = new JournalReader(directory)) {
+			while (reader.next(event)) {
+				assertEquals("records in order", sequence + 1, event.getSequence());
+				sequence = event.getSequence();
+				counts.merge(event.getType(), 1, Integer::sum);
+				if (sequence == 0) {
+					assertEquals("elevator first", EventType.ELEVATOR, event.getType());
+					assertEquals("elevator zone", 20, event.getTarget());
+					assertEquals("elevator capacity", 5, event.getRiders());
+				}
+				if (sequence == 1) {
+					assertEquals("hall call next", EventType.HALL_CALL, event.getType());
+					assertEquals("hall call floor", 5, event.getFloor());
+					assertEquals("hall call direction", MovingState.Up, event.getState());
+					assertEquals("hall call without riders", 5, event.getTarget());
+					assertEquals("hall call without riders", 1, event.getRiders());
+				}
+			}
+		}
+		assertEquals("read all records", 21, sequence);
+		assertEquals("hall calls", 1, (int) counts.get(EventType.HALL_CALL));
+		assertEquals("assignments", 1, (int) counts.get(EventType.ASSIGN));
+		assertEquals("stops", 2, (int) counts.get(EventType.STOP));
+		assertEquals("steps", 17, (int) counts.get(EventType.STEP));
+		// the event keeps the last record
+		assertEquals("last step", 8, event.getFloor());
+		assertEquals("last step power", power, event.getPower());
+		// every step but the first sleeps one step time before it
+		assertEquals("last step time", 16 * ElevatorImp.SLEEP_CONTINOUS, event.getTime());
+	}
+
+	@Test
+	public void testSadPath() throws IOException {
+		new EventJournal(directory, clock, 4).close();
+		try {
+			new EventJournal(directory, clock, 4);
+		} catch (IOException e) {
+			excep = true;
+		}
+		assertTrue("existing journal sad path", excep);
+
+		excep = false;
+		try {
+			new JournalReader(directory.resolve("missing"));
+		} catch (IOException e) {
+			excep = true;
+		}
+		assertTrue("missing journal sad path", excep);
+	}
+
+}
@@ -0,0 +1,67 @@
+package Test;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import Metrics.LatencyHistogram;
+
+public class LatencyHistogramTest {
+
+	private LatencyHistogram histogram;
+	private boolean excep = false;
+
+	@Before
+	public void setUp() throws Exception {
+		histogram = new LatencyHistogram();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		histogram = null;
+	}
+
+	@Test
+	public void testPercentiles() {
+		// happy path
+		for (int i = 1; i <= 1000; i++) {
+			histogram.record(i);
+		}
+		assertEquals("getCount() happy path", 1000, histogram.getCount());
+		assertEquals("getMean() happy path", 500.5, histogram.getMean(), 0);
+		assertEquals("getMax() happy path", 1000, histogram.getMax());
+		assertEquals("p50 happy path", 500, histogram.getValueAtPercentile(50), 500 / LatencyHistogram.SUB_BUCKETS);
+		assertEquals("p99 happy path", 990, histogram.getValueAtPercentile(99), 990 / LatencyHistogram.SUB_BUCKETS);
+		assertEquals("p100 happy path", 1000, histogram.getValueAtPercentile(100));
+		histogram.record(3);
+		assertEquals("p0 exact for small values", 1, histogram.getValueAtPercentile(0));
+
+		// sad path
+		try {
+			histogram.getValueAtPercentile(101);
+		} catch (IllegalArgumentException e) {
+			excep = true;
+		}
+		assertTrue("getValueAtPercentile() sad path", excep);
+		assertEquals("empty histogram", 0, new LatencyHistogram().getValueAtPercentile(99));
+	}
+
+	@Test
+	public void testAdd() {
+		LatencyHistogram other = new LatencyHistogram();
+		histogram.record(10);
+		other.record(Long.MAX_VALUE);
+		other.record(-5);
+		histogram.add(other);
+		assertEquals("add() count", 3, histogram.getCount());
+		assertEquals("add() max", Long.MAX_VALUE, histogram.getMax());
+		assertEquals("add() p100", Long.MAX_VALUE, histogram.getValueAtPercentile(100));
+		assertEquals("add() p1", 0, histogram.getValueAtPercentile(1));
+
+		histogram.reset();
+		assertEquals("reset()", 0, histogram.getCount());
+	}
+
+}
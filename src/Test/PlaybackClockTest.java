@@ -0,0 +1,103 @@
+package Test;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import Simulator.PlaybackClock;
+
+public class PlaybackClockTest {
+
+	private PlaybackClock clock;
+	private boolean excep;
+
+	@Before
+	public void setUp() throws Exception {
+		clock = new PlaybackClock();
+		clock.start();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		clock.close();
+		clock = null;
+	}
+
+	@Test
+	public void testSpeed() throws InterruptedException {
+		// happy path, 2 s of virtual time at 20x take about 100 ms
+		clock.setSpeed(20);
+		long start = System.nanoTime();
+		Thread sleeper = sleeper(2000);
+		sleeper.join(5000);
+		long wall = (System.nanoTime() - start) / 1000000;
+		assertFalse("sleep() finished", sleeper.isAlive());
+		assertTrue("sleep() paced, took " + wall + " ms", wall >= 80);
+		assertTrue("sleep() fast forward, took " + wall + " ms", wall < 1500);
+		assertEquals("getSpeed() happy path", 20, clock.getSpeed(), 0);
+
+		// sad path
+		try {
+			clock.setSpeed(0);
+		} catch (IllegalArgumentException e) {
+			excep = true;
+		}
+		assertTrue("setSpeed() sad path", excep);
+	}
+
+	@Test
+	public void testPause() throws InterruptedException {
+		// happy path
+		clock.pause();
+		assertTrue("pause() happy path", clock.isPaused());
+		long paused = clock.currentTimeMillis();
+		Thread sleeper = sleeper(10);
+		sleeper.join(200);
+		assertTrue("pause() holds time", sleeper.isAlive());
+		assertEquals("pause() holds time", paused, clock.currentTimeMillis());
+		clock.resume();
+		sleeper.join(5000);
+		assertFalse("resume() happy path", sleeper.isAlive());
+		assertFalse("resume() happy path", clock.isPaused());
+	}
+
+	@Test
+	public void testSkipTo() throws InterruptedException {
+		// happy path, an hour at real time speed passes in well under a second
+		clock.pause();
+		long start = System.nanoTime();
+		Thread sleeper = sleeper(60 * 60 * 1000L);
+		clock.skipTo(60 * 60 * 1000L);
+		sleeper.join(5000);
+		assertFalse("skipTo() happy path", sleeper.isAlive());
+		assertTrue("skipTo() runs ahead", System.nanoTime() - start < 1000000000L);
+		assertTrue("skipTo() reached", clock.currentTimeMillis() >= 60 * 60 * 1000L);
+		// back to real time after the skip
+		long reached = clock.currentTimeMillis();
+		Thread.sleep(100);
+		assertTrue("skipTo() then paced", clock.currentTimeMillis() - reached < 1000);
+		assertFalse("isSkipping() after skip", clock.isSkipping());
+
+		// sad path
+		try {
+			clock.start();
+		} catch (IllegalStateException e) {
+			excep = true;
+		}
+		assertTrue("start() sad path", excep);
+	}
+
+	private Thread sleeper(long millis) {
+		Thread thread = new Thread(clock.track(() -> {
+			try {
+				clock.sleep(millis);
+			} catch (InterruptedException e) {
+				e.printStackTrace();
+			}
+		}));
+		thread.start();
+		return thread;
+	}
+}
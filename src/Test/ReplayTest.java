@@ -0,0 +1,171 @@
+package Test;
+
+import static org.junit.Assert.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import Dispatch.DispatchStrategy;
+import Dispatch.FleetView;
+import Dispatch.NearestCarStrategy;
+import Elevator.ElevatorImp;
+import Elevator.MovingState;
+import ElevatorSystem.ElevatorSystemImp;
+import ElevatorSystem.HallCall;
+import Journal.Decision;
+import Journal.EventJournal;
+import Journal.Replay;
+import Simulator.DeterministicClock;
+import Simulator.VirtualClock;
+
+public class ReplayTest {
+
+	private Path directory;
+	private Replay replay;
+
+	@Before
+	public void setUp() throws Exception {
+		// a recorded day: hall calls every few seconds and stops inside the elevators
+		directory = Files.createTempDirectory("replay");
+		VirtualClock clock = new VirtualClock(1000000);
+		Random random = new Random(3);
+		try (EventJournal journal = new EventJournal(directory, clock)) {
+			for (int i = 0; i < 1500; i++) {
+				clock.sleep(random.nextInt(3000));
+				int floor = random.nextInt(21);
+				if (random.nextInt(4) == 0) {
+					journal.onStop(random.nextInt(4), floor);
+				} else {
+					journal.onHallCall(floor, floor == 20 || floor > 0 && random.nextBoolean() ? MovingState.Down : MovingState.Up, floor, 1);
+				}
+			}
+		}
+		replay = new Replay(directory, 0, 20, 4);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		try (Stream<Path> files = Files.list(directory)) {
+			files.forEach(file -> file.toFile().delete());
+		}
+		Files.delete(directory);
+	}
+
+	@Test
+	public void testRun() throws Exception {
+		// happy path, the same input gives the same run
+		Replay.Result first = replay.run(NearestCarStrategy::new);
+		Replay.Result second = replay.run(NearestCarStrategy::new);
+		assertTrue("run() assignments", first.getDecisions() > Replay.CHECKPOINT);
+		assertEquals("run() same assignments", first.getDecisions(), second.getDecisions());
+		assertEquals("run() same fingerprint", first.getFingerprint(), second.getFingerprint());
+		assertArrayEquals("run() same positions", first.getFloors(), second.getFloors());
+		assertEquals("run() same power", first.getPowerConsumed(), second.getPowerConsumed(), 0);
+		assertEquals("run() same end", first.getEndTime(), second.getEndTime());
+		assertEquals("run() nothing skipped", 0, first.getSkipped());
+
+		// sad path, a smaller building skips what it cannot serve
+		Replay small = new Replay(directory, 0, 10, 2);
+		assertTrue("run() sad path", small.run(NearestCarStrategy::new).getSkipped() > 0);
+	}
+
+	@Test
+	public void testRiders() throws Exception {
+		// happy path, the recorded building carries a group of 7 from 0 to 10
+		Path recorded = Files.createTempDirectory("riders");
+		try {
+			VirtualClock clock = new VirtualClock();
+			ElevatorSystemImp building = new ElevatorSystemImp(0, 20, clock);
+			building.addElevator(new ElevatorImp(8, building, 0, clock));
+			try (EventJournal journal = new EventJournal(recorded, clock)) {
+				journal.attach(building);
+				journal.onHallCall(0, MovingState.Up, 10, 7);
+			}
+			building.shutdown();
+			Replay.Result result = new Replay(recorded, 0, 20, 1).run(NearestCarStrategy::new);
+			assertEquals("run() recorded capacity", 0, result.getSkipped());
+			assertEquals("run() riders taken to their floor", 10, result.getFloors()[0]);
+
+			// sad path, a second car without a record gets the default capacity
+			assertEquals("run() default capacity", 0, new Replay(recorded, 0, 20, 2).run(NearestCarStrategy::new).getSkipped());
+		} finally {
+			try (Stream<Path> files = Files.list(recorded)) {
+				files.forEach(file -> file.toFile().delete());
+			}
+			Files.delete(recorded);
+		}
+	}
+
+	@Test
+	public void testBisect() throws Exception {
+		assertNull("bisect() same strategy", replay.bisect(NearestCarStrategy::new, NearestCarStrategy::new));
+
+		// happy path, agrees with the nearest car until the 1100th call and then sends the highest free car
+		Decision[] divergence = replay.bisect(NearestCarStrategy::new, () -> new DispatchStrategy() {
+			private final DispatchStrategy nearest = new NearestCarStrategy();
+			private int calls;
+
+			@Override
+			public int[] assign(FleetView fleet, List<HallCall> hallCalls) {
+				calls += hallCalls.size();
+				if (calls <= 1100) {
+					return nearest.assign(fleet, hallCalls);
+				}
+				int[] result = new int[hallCalls.size()];
+				Arrays.fill(result, DispatchStrategy.NONE);
+				for (int id = fleet.size() - 1; id >= 0; id--) {
+					if (fleet.exists(id) && fleet.isFree(id) && fleet.serves(id, hallCalls.get(0).getFloor())) {
+						result[0] = id;
+						break;
+					}
+				}
+				return result;
+			}
+		});
+		assertNotNull("bisect() happy path", divergence);
+		assertNotEquals("bisect() happy path", divergence[0], divergence[1]);
+		assertEquals("bisect() same position", divergence[0].getIndex(), divergence[1].getIndex());
+		assertTrue("bisect() not before the switch", divergence[0].getIndex() >= Replay.CHECKPOINT);
+	}
+
+	@Test
+	public void testDeterministicClock() throws InterruptedException {
+		DeterministicClock clock = new DeterministicClock();
+		StringBuilder order = new StringBuilder();
+		Thread[] threads = new Thread[3];
+		Runnable[] tasks = new Runnable[3];
+		for (int i = 0; i < 3; i++) {
+			int id = i;
+			tasks[i] = clock.track(() -> {
+				try {
+					for (int step = 0; step < 3; step++) {
+						order.append(id);
+						clock.sleep(100);
+					}
+				} catch (InterruptedException e) {
+					fail();
+				}
+			});
+		}
+		// started in reverse, the turns still follow the order the tasks were tracked
+		for (int i = 2; i >= 0; i--) {
+			threads[i] = new Thread(tasks[i]);
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		clock.awaitIdle();
+		assertEquals("turns", "012012012", order.toString());
+		assertEquals("time", 300, clock.currentTimeMillis());
+	}
+
+}
@@ -0,0 +1,176 @@
+package Test;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import Elevator.Elevator;
+import Elevator.ElevatorImp;
+import Elevator.MovingState;
+import ElevatorSystem.ElevatorSystemImp;
+import ElevatorSystem.RoutingMode;
+import ElevatorSystem.Snapshot;
+import Simulator.VirtualClock;
+
+public class SnapshotTest {
+
+	private VirtualClock clock;
+	private ElevatorSystemImp system;
+	private ElevatorSystemImp restored;
+	private boolean excep;
+
+	@Before
+	public void setUp() throws Exception {
+		clock = new VirtualClock();
+		system = new ElevatorSystemImp(-2, 20, clock);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		system.shutdown();
+		if (restored != null) {
+			restored.shutdown();
+		}
+	}
+
+	@Test
+	public void testRestore() throws Exception {
+		// happy path
+		ElevatorImp first = new ElevatorImp(5, system, 0, clock);
+		ElevatorImp second = new ElevatorImp(8, system, 1, 0, 10, true, clock);
+		system.addElevator(first);
+		system.addElevator(second);
+		system.setRoutingMode(RoutingMode.LOOK);
+		first.moveTo(5);
+		system.requestStops(first, 9, 3);
+		system.travel(2, 8, 3);
+		system.travel(-2, 4, 1);
+
+		Snapshot snapshot = copy(system.snapshot());
+		assertEquals("snapshot() time", clock.currentTimeMillis(), snapshot.getTime());
+		restored = ElevatorSystemImp.restore(snapshot, new VirtualClock(snapshot.getTime()));
+		assertEquals("restore() cars", 2, restored.getElevatorCount());
+		assertEquals("restore() floors", -2, restored.getMinFloor());
+		assertEquals("restore() hall calls", 2, restored.getPendingHallCalls());
+		for (int id = 0; id < 2; id++) {
+			Elevator before = system.getElevator(id);
+			Elevator after = restored.getElevator(id);
+			assertEquals("restore() floor", before.getFloor(), after.getFloor());
+			assertEquals("restore() power", before.getPowerConsumed(), after.getPowerConsumed(), 0);
+			assertEquals("restore() max capacity", before.getMaxCapacity(), after.getMaxCapacity());
+			assertEquals("restore() zone", before.getMaxFloor(), after.getMaxFloor());
+			assertArrayEquals("restore() stops", system.getStops(before), restored.getStops(after));
+		}
+
+		// the restored run ends where the original does
+		system.start();
+		restored.start();
+		awaitIdle(system);
+		awaitIdle(restored);
+		assertEquals("restore() same run", system.getPowerConsumed(), restored.getPowerConsumed(), 0);
+		assertEquals("restore() same run", clock.currentTimeMillis(), restored.getClock().currentTimeMillis());
+
+		// sad path
+		try {
+			ElevatorSystemImp.restore(snapshot, new VirtualClock());
+		} catch (IllegalArgumentException e) {
+			excep = true;
+		}
+		assertTrue("restore() clock behind", excep);
+	}
+
+	@Test
+	public void testRestoreInMotion() throws Exception {
+		// happy path, taken from the step listener while the only car is on its way to a call
+		ElevatorImp car = new ElevatorImp(5, system, 0, clock);
+		system.addElevator(car);
+		AtomicReference<Snapshot> taken = new AtomicReference<>();
+		car.addListener((id, floor, target, power, state) -> {
+			if (floor == 4 && target == 10 && taken.get() == null) {
+				taken.set(system.snapshot());
+			}
+		});
+		system.start();
+		CompletableFuture<Elevator> boarded = system.travel(10, 2, 2);
+		boarded.join();
+		awaitIdle(system);
+
+		Snapshot snapshot = taken.get();
+		assertNotNull("snapshot() in motion", snapshot);
+		restored = ElevatorSystemImp.restore(snapshot, new VirtualClock(snapshot.getTime()));
+		Elevator resumed = restored.getElevator(0);
+		assertEquals("restore() in motion", 4, resumed.getFloor());
+		assertEquals("restore() in motion", MovingState.Up, resumed.getState());
+		assertEquals("restore() serving call", 0, restored.getPendingHallCalls());
+		restored.start();
+		awaitIdle(restored);
+		assertEquals("restore() resumes the move", 2, resumed.getFloor());
+		assertTrue("restore() riders got off", resumed.isEmpty());
+		assertEquals("restore() same power", system.getPowerConsumed(), restored.getPowerConsumed(), 0);
+	}
+
+	@Test
+	public void testRead() throws IOException {
+		// happy path
+		system.addElevator(new ElevatorImp(5, system, 0, clock));
+		Snapshot snapshot = system.snapshot();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		snapshot.write(bytes);
+		assertEquals("getSize() happy path", bytes.size(), snapshot.getSize());
+
+		// sad path
+		byte[] data = bytes.toByteArray();
+		data[5] = 2;
+		try {
+			Snapshot.read(new ByteArrayInputStream(data));
+		} catch (IOException e) {
+			excep = e.getMessage().contains("version");
+		}
+		assertTrue("read() other version", excep);
+		excep = false;
+		try {
+			Snapshot.read(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4, 5, 6 }));
+		} catch (IOException e) {
+			excep = true;
+		}
+		assertTrue("read() not a snapshot", excep);
+	}
+
+	private static Snapshot copy(Snapshot snapshot) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		snapshot.write(bytes);
+		return Snapshot.read(new ByteArrayInputStream(bytes.toByteArray()));
+	}
+
+	/**
+	 * wait until no call is queued and every car is idle, empty and without stops for a few polls in a row
+	 */
+	private static void awaitIdle(ElevatorSystemImp system) throws InterruptedException {
+		long end = System.currentTimeMillis() + 10000;
+		for (int quiet = 0; quiet < 3; quiet = idle(system) ? quiet + 1 : 0) {
+			assertTrue("system settles", System.currentTimeMillis() < end);
+			Thread.sleep(5);
+		}
+	}
+
+	private static boolean idle(ElevatorSystemImp system) {
+		if (system.getPendingHallCalls() > 0) {
+			return false;
+		}
+		for (int id = 0; id < system.getElevatorCount(); id++) {
+			Elevator e = system.getElevator(id);
+			if (!e.isIdle() || !e.isEmpty() || system.getStops(e).length > 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -6,8 +6,8 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
-import Elevator.SortFloor;
-
+// the import of a deprecated class cannot be suppressed before Java 9, the class is named in full
+@SuppressWarnings("deprecation")
 public class SortFloorTest {
 
 	private int[] toBeSorted;
@@ -26,12 +26,12 @@ public class SortFloorTest {
 	@Test
 	public void testAscSort() {
 		// happy path
-		int[] result = SortFloor.ascSort(toBeSorted);
+		int[] result = Elevator.SortFloor.ascSort(toBeSorted);
 		assertEquals("ascSort happy path", 2, result[0]);
 
 		// sad path
 		try {
-			SortFloor.ascSort(null);
+			Elevator.SortFloor.ascSort(null);
 		} catch (NullPointerException e) {
 			excep = true;
 		}
@@ -41,12 +41,12 @@ public class SortFloorTest {
 	@Test
 	public void testDescSort() {
 		// happy path
-		int[] result = SortFloor.descSort(toBeSorted);
+		int[] result = Elevator.SortFloor.descSort(toBeSorted);
 		assertEquals("descSort happy path", 20, result[0]);
 
 		// sad path
 		try {
-			SortFloor.ascSort(null);
+			Elevator.SortFloor.ascSort(null);
 		} catch (NullPointerException e) {
 			excep = true;
 		}
@@ -0,0 +1,75 @@
+package Test;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import ElevatorSystem.StopQueue;
+
+public class StopQueueTest {
+
+	private StopQueue queue;
+	private boolean excep;
+
+	@Before
+	public void setUp() throws Exception {
+		queue = new StopQueue(-3, 150);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		queue = null;
+	}
+
+	@Test
+	public void testAdd() {
+		// happy path
+		assertTrue("add() happy path", queue.add(12));
+		assertTrue("add() happy path", queue.add(-3));
+		assertFalse("add() duplicate", queue.add(12));
+		assertEquals("add() size", 2, queue.size());
+
+		// sad path
+		try {
+			queue.add(151);
+		} catch (IllegalArgumentException e) {
+			excep = true;
+		}
+		assertTrue("add() sad path", excep);
+	}
+
+	@Test
+	public void testPoll() {
+		queue.add(9);
+		queue.add(2);
+		queue.add(70);
+		queue.remove(2);
+		assertEquals("poll() keeps request order", 9, queue.poll());
+		assertEquals("poll() keeps request order", 70, queue.poll());
+		assertTrue(queue.isEmpty());
+	}
+
+	@Test
+	public void testNextAbove() {
+		queue.add(5);
+		queue.add(64);
+		queue.add(130);
+		assertEquals("nextAbove() happy path", 5, queue.nextAbove(-3));
+		assertEquals("nextAbove() happy path", 64, queue.nextAbove(5));
+		assertEquals("nextAbove() happy path", 130, queue.nextAbove(64));
+		assertEquals("nextAbove() none", StopQueue.NONE, queue.nextAbove(130));
+	}
+
+	@Test
+	public void testNextBelow() {
+		queue.add(-3);
+		queue.add(64);
+		queue.add(130);
+		assertEquals("nextBelow() happy path", 130, queue.nextBelow(150));
+		assertEquals("nextBelow() happy path", 64, queue.nextBelow(130));
+		assertEquals("nextBelow() happy path", -3, queue.nextBelow(64));
+		assertEquals("nextBelow() none", StopQueue.NONE, queue.nextBelow(-3));
+	}
+}
@@ -0,0 +1,89 @@
+package Test;
+
+import static org.junit.Assert.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.Test;
+
+import Elevator.Elevator;
+import Elevator.ElevatorImp;
+import ElevatorSystem.ElevatorSystemImp;
+import Metrics.SystemMetrics;
+import Simulator.VirtualClock;
+
+public class SystemMetricsTest {
+
+	private boolean excep = false;
+
+	@Test
+	public void testRecording() throws Exception {
+		VirtualClock clock = new VirtualClock();
+		ElevatorSystemImp system = new ElevatorSystemImp(0, 20, clock);
+		Elevator elevator = new ElevatorImp(1, system, 0, clock);
+		system.addElevator(elevator);
+		SystemMetrics metrics = system.getMetrics();
+
+		// happy path, the second call waits for the elevator to serve the first one
+		CompletableFuture<Elevator> first = system.callUpAsync(5);
+		CompletableFuture<Elevator> second = system.callDownAsync(12);
+		system.start();
+		first.get(5, TimeUnit.SECONDS);
+		second.get(5, TimeUnit.SECONDS);
+		assertEquals("wait count", 2, metrics.getArrivals());
+		assertTrue("wait max", metrics.getWaitTimes().getMax() >= 12 * ElevatorImp.SLEEP_CONTINOUS);
+		assertEquals("assignment count", 2, metrics.getAssignmentTimes().getCount());
+		assertTrue("assignment max", metrics.getAssignmentTimes().getMax() >= 5 * ElevatorImp.SLEEP_CONTINOUS);
+		assertTrue("decision count", metrics.getDecisionTimes().getCount() > 0);
+
+		// happy path, both stops are served before the elevator is free for the next call
+		elevator.requestStops(8, 3);
+		assertEquals("queue depth", 2, metrics.getQueueDepths(0).getMax());
+		system.callUpAsync(0).get(5, TimeUnit.SECONDS);
+		assertEquals("journey count", 2, metrics.getJourneyTimes().getCount());
+		assertTrue("journey max", metrics.getJourneyTimes().getMax() >= 9 * ElevatorImp.SLEEP_CONTINOUS);
+		assertEquals("queue depth all", 2, metrics.getQueueDepthMax());
+
+		// sad path, unknown elevator
+		try {
+			metrics.getQueueDepths(3);
+		} catch (IllegalArgumentException e) {
+			excep = true;
+		}
+		assertTrue("getQueueDepths() sad path", excep);
+		system.shutdown();
+	}
+
+	@Test
+	public void testMBean() throws Exception {
+		VirtualClock clock = new VirtualClock();
+		ElevatorSystemImp system = new ElevatorSystemImp(0, 20, clock);
+		system.addElevator(new ElevatorImp(1, system, 0, clock));
+		system.start();
+		system.callUpAsync(7).get(5, TimeUnit.SECONDS);
+
+		// happy path, percentiles are readable over JMX at runtime
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName name = system.registerMBean("metrics-test");
+		assertEquals("WaitP99", system.getMetrics().getWaitP99(), server.getAttribute(name, "WaitP99"));
+		assertEquals("Arrivals", 1L, server.getAttribute(name, "Arrivals"));
+		server.invoke(name, "reset", null, null);
+		assertEquals("reset", 0L, server.getAttribute(name, "Arrivals"));
+
+		// sad path, registered once only
+		try {
+			system.registerMBean("metrics-test-2");
+		} catch (IllegalStateException e) {
+			excep = true;
+		}
+		assertTrue("registerMBean() sad path", excep);
+
+		system.shutdown();
+		assertFalse("unregistered on shutdown", server.isRegistered(name));
+	}
+}
@@ -0,0 +1,108 @@
+package Test;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import Elevator.ElevatorImp;
+import ElevatorSystem.ElevatorSystemImp;
+import Simulator.Passenger;
+import Simulator.TraceReader;
+import Simulator.TraceRunner;
+import Simulator.VirtualClock;
+
+public class TraceRunnerTest {
+
+	private static final String TRACE = "time,origin,destination,group\n"
+			+ "# morning\n"
+			+ "1000,0,12,2\n"
+			+ "1000, 0, 5\n"
+			+ "\n"
+			+ "4000,20,0,1\n"
+			+ "9000,7,7,1\n"
+			+ "9500,3,25,1\n"
+			+ "12000,15,-1,3\n";
+
+	private VirtualClock clock;
+	private ElevatorSystemImp system;
+	private ElevatorImp[] cars;
+	private boolean excep = false;
+
+	@Before
+	public void setUp() throws Exception {
+		clock = new VirtualClock();
+		system = new ElevatorSystemImp(-1, 20, clock);
+		cars = new ElevatorImp[] { new ElevatorImp(5, system, 0, clock), new ElevatorImp(5, system, 1, clock) };
+		system.addElevator(cars[0]);
+		system.addElevator(cars[1]);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		system.shutdown();
+		system = null;
+	}
+
+	@Test
+	public void testTraceReader() throws IOException {
+		// happy path
+		TraceReader reader = new TraceReader(new StringReader(TRACE));
+		Passenger passenger = new Passenger();
+		assertTrue("next() happy path", reader.next(passenger));
+		assertEquals("next() happy path", "1000,0,12,2", passenger.toString());
+		assertTrue("next() default group", reader.next(passenger));
+		assertEquals("next() default group", "1000,0,5,1", passenger.toString());
+		int count = 2;
+		while (reader.next(passenger)) {
+			count++;
+		}
+		assertEquals("next() skips comments and blank lines", 6, count);
+		assertEquals("next() last line", "12000,15,-1,3", passenger.toString());
+		reader.close();
+
+		// sad path
+		try {
+			new TraceReader(new StringReader("1000,0,x\n")).next(passenger);
+		} catch (IOException e) {
+			excep = true;
+		}
+		assertTrue("next() sad path", excep);
+
+		excep = false;
+		try {
+			new TraceReader(new StringReader("1000,0,5,0\n")).next(passenger);
+		} catch (IOException e) {
+			excep = true;
+		}
+		assertTrue("next() sad path", excep);
+	}
+
+	@Test
+	public void testRun() throws IOException, InterruptedException {
+		TraceRunner runner = new TraceRunner(system);
+		system.start();
+		runner.run(new TraceReader(new StringReader(TRACE)));
+
+		assertEquals("run() passengers", 7, runner.getPassengers());
+		assertEquals("run() calls", 4, runner.getCalls());
+		assertEquals("run() skipped", 2, runner.getSkipped());
+		assertEquals("run() failed", 0, runner.getFailed());
+		assertEquals("run() wait times", 4, runner.getWaitTimes().getCount());
+		assertTrue("run() trip time", runner.getMeanTripTime() > runner.getWaitTimes().getMean());
+		assertTrue("run() simulated time", runner.getSimulatedMillis() >= 11000);
+		assertEquals("run() idle", 0, system.getPendingHallCalls());
+		assertTrue("run() everybody got off", cars[0].isEmpty() && cars[1].isEmpty());
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		runner.writeSummary(new PrintStream(out, true));
+		assertTrue("writeSummary()", out.toString().contains("passengers: 7"));
+	}
+
+}
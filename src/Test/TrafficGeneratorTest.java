@@ -0,0 +1,86 @@
+package Test;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import Simulator.Passenger;
+import Simulator.TrafficGenerator;
+import Simulator.TrafficProfile;
+
+public class TrafficGeneratorTest {
+
+	private static final int COUNT = 100000;
+
+	private Passenger passenger;
+	private boolean excep = false;
+
+	@Before
+	public void setUp() throws Exception {
+		passenger = new Passenger();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		passenger = null;
+	}
+
+	@Test
+	public void testSeed() {
+		TrafficGenerator a = new TrafficGenerator(TrafficProfile.LUNCH, 60, 0, 20, 1000, 7);
+		TrafficGenerator b = new TrafficGenerator(TrafficProfile.LUNCH, 60, 0, 20, 1000, 7);
+		Passenger other = new Passenger();
+		while (a.next(passenger)) {
+			assertTrue("same seed", b.next(other));
+			assertEquals("same seed", passenger.toString(), other.toString());
+		}
+		assertFalse("count", b.next(other));
+		assertEquals("count", 1000, a.getGenerated());
+	}
+
+	@Test
+	public void testProfiles() {
+		for (TrafficProfile profile : TrafficProfile.values()) {
+			TrafficGenerator generator = new TrafficGenerator(profile, 120, -2, 30, COUNT, 42);
+			int incoming = 0;
+			int outgoing = 0;
+			long last = 0;
+			while (generator.next(passenger)) {
+				assertNotEquals("origin is not destination", passenger.getOrigin(), passenger.getDestination());
+				assertTrue("in building", passenger.getOrigin() >= -2 && passenger.getDestination() <= 30);
+				assertTrue("in order", passenger.getTime() >= last);
+				last = passenger.getTime();
+				if (passenger.getOrigin() == 0) {
+					incoming++;
+				} else if (passenger.getDestination() == 0) {
+					outgoing++;
+				}
+			}
+			assertEquals(profile + " incoming", profile.getIncoming(), (double) incoming / COUNT, 0.01);
+			assertEquals(profile + " outgoing", profile.getOutgoing(), (double) outgoing / COUNT, 0.01);
+			// 120 per minute is one passenger every 500 ms on average
+			assertEquals(profile + " rate", 500, (double) last / COUNT, 10);
+		}
+	}
+
+	@Test
+	public void testSadPath() {
+		try {
+			new TrafficGenerator(TrafficProfile.UP_PEAK, 0, 0, 20, 10, 1);
+		} catch (IllegalArgumentException e) {
+			excep = true;
+		}
+		assertTrue("rate sad path", excep);
+
+		excep = false;
+		try {
+			new TrafficGenerator(TrafficProfile.UP_PEAK, 10, 0, 20, 21, 10, 1);
+		} catch (IllegalArgumentException e) {
+			excep = true;
+		}
+		assertTrue("lobby sad path", excep);
+	}
+
+}
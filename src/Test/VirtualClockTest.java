@@ -0,0 +1,137 @@
+package Test;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import Elevator.ElevatorImp;
+import Elevator.MovingState;
+import ElevatorSystem.ElevatorSystemImp;
+import Simulator.VirtualClock;
+
+public class VirtualClockTest {
+
+	private VirtualClock clock;
+	private boolean excep;
+
+	@Before
+	public void setUp() throws Exception {
+		clock = new VirtualClock();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		clock = null;
+	}
+
+	@Test
+	public void testSleep() throws InterruptedException {
+		// happy path
+		long start = System.currentTimeMillis();
+		clock.sleep(24 * 60 * 60 * 1000L);
+		assertEquals("sleep() happy path", 24 * 60 * 60 * 1000L, clock.currentTimeMillis());
+		assertTrue("sleep() takes no real time", System.currentTimeMillis() - start < 1000);
+
+		// sad path
+		try {
+			clock.sleep(-1);
+		} catch (IllegalArgumentException e) {
+			excep = true;
+		}
+		assertTrue("sleep() sad path", excep);
+	}
+
+	@Test
+	public void testTrack() throws InterruptedException {
+		Runnable first = clock.track(() -> sleep(100));
+		Runnable second = clock.track(() -> sleep(300));
+		Thread t1 = new Thread(first);
+		Thread t2 = new Thread(second);
+		t1.start();
+		t2.start();
+		t1.join();
+		t2.join();
+		assertEquals("tracked tasks sleep in parallel", 300, clock.currentTimeMillis());
+	}
+
+	@Test
+	public void testUntrackedSleeper() throws InterruptedException {
+		// an untracked sleeper does not stand in for a tracked task that is still running
+		CountDownLatch release = new CountDownLatch(1);
+		Thread busy = new Thread(clock.track(() -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				e.printStackTrace();
+			}
+		}));
+		Thread sleeper = new Thread(() -> sleep(100));
+		busy.start();
+		sleeper.start();
+		while (sleeper.isAlive() && sleeper.getState() != Thread.State.WAITING) {
+			Thread.sleep(1);
+		}
+		assertEquals("untracked sleeper holds time", 0, clock.currentTimeMillis());
+		release.countDown();
+		busy.join();
+		sleeper.join();
+		assertEquals("time moves once the tracked task is done", 100, clock.currentTimeMillis());
+	}
+
+	@Test(timeout = 10000)
+	public void testUntrackedWakeUp() throws InterruptedException {
+		// time moves on past an untracked sleeper while the only tracked task is still asleep
+		Thread busy = new Thread(clock.track(() -> sleep(300)));
+		Thread sleeper = new Thread(() -> sleep(100));
+		sleeper.start();
+		while (sleeper.isAlive() && sleeper.getState() != Thread.State.WAITING) {
+			Thread.sleep(1);
+		}
+		busy.start();
+		sleeper.join();
+		busy.join();
+		assertEquals("untracked wake up", 300, clock.currentTimeMillis());
+	}
+
+	@Test(timeout = 10000)
+	public void testNestedTrack() throws InterruptedException {
+		// happy path, a tracked task running another one inline still lets time move
+		Thread nested = new Thread(clock.track(() -> clock.track(() -> sleep(100)).run()));
+		nested.start();
+		nested.join();
+		assertEquals("nested track() sleeps", 100, clock.currentTimeMillis());
+
+		// a blocking hall call from a tracked task moves the car inline
+		ElevatorSystemImp system = new ElevatorSystemImp(0, 20, clock);
+		ElevatorImp elevator = new ElevatorImp(10, system, 0, clock);
+		system.addElevator(elevator);
+		system.start();
+		Thread caller = new Thread(clock.track(() -> system.callUp(10)));
+		caller.start();
+		caller.join();
+		assertEquals("nested track() callUp()", 10, elevator.getFloor());
+		system.shutdown();
+	}
+
+	@Test
+	public void testMoveTo() {
+		ElevatorSystemImp system = new ElevatorSystemImp(0, 20, clock);
+		ElevatorImp elevator = new ElevatorImp(10, system, 0, clock);
+		elevator.moveTo(10);
+		assertEquals("moveTo() power", 12, elevator.getPowerConsumed(), 0);
+		assertEquals("moveTo() state", MovingState.Idle, elevator.getState());
+		assertEquals("moveTo() virtual time", 11 * ElevatorImp.SLEEP_CONTINOUS, clock.currentTimeMillis());
+	}
+
+	private void sleep(long millis) {
+		try {
+			clock.sleep(millis);
+		} catch (InterruptedException e) {
+			e.printStackTrace();
+		}
+	}
+}